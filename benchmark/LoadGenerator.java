@@ -0,0 +1,109 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for the thread-mode benchmark.
+ * Each of {@code concurrency} clients sends one POST at a time for {@code seconds} seconds
+ * (after {@code warmup} seconds that are not measured) and the run prints one CSV line:
+ * concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms
+ *
+ * Usage: java LoadGenerator.java <url> <json-body> <concurrency> <seconds> [warmup-seconds]
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: java LoadGenerator.java <url> <json-body> <concurrency> <seconds> [warmup-seconds]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String body = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        long measureNanos = Duration.ofSeconds(Long.parseLong(args[3])).toNanos();
+        long warmupNanos = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 0).toNanos();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            int slot = i;
+            Thread worker = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= measureUntil) {
+                            break;
+                        }
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() < 300;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long received = System.nanoTime();
+                        if (sent < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = received - sent;
+                    }
+                } finally {
+                    latencies[slot] = samples;
+                    counts[slot] = count;
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        double seconds = measureNanos / 1e9;
+        System.out.printf("%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", concurrency, total, errors.get(), total / seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), total == 0 ? 0.0 : all[total - 1] / 1e6);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
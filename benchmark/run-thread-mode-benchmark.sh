@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+#
+# Compares platform-thread and virtual-thread mode of both services under closed-loop load on
+# POST /api/order. For each mode the two services are started from their jars, a benchmark
+# product with effectively unlimited stock is seeded, and LoadGenerator.java is run once per
+# concurrency level. Results are written as CSV to benchmark/results/thread-mode-<timestamp>.csv.
+#
+# Usage: benchmark/run-thread-mode-benchmark.sh [concurrency levels...]   (default: 64 256 1024)
+# Environment: DURATION (measured seconds per level, default 60), WARMUP (seconds, default 15),
+#              JAVA_OPTS (extra JVM flags for both services), SKIP_BUILD=1 to reuse existing jars.
+#
+# Virtual-thread mode needs Java 21+; on older runtimes the services ignore the profile, both modes
+# would run the same configuration and the comparison is meaningless, so the script refuses to run.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+if [ "$#" -gt 0 ]; then LEVELS=("$@"); else LEVELS=(64 256 1024); fi
+DURATION="${DURATION:-60}"
+WARMUP="${WARMUP:-15}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+RESULTS_DIR="$ROOT/benchmark/results"
+RESULTS="$RESULTS_DIR/thread-mode-$(date +%Y%m%d-%H%M%S).csv"
+ORDER_BODY='{"customerId":"BENCH-CUST","items":[{"productId":"BENCH-001","quantity":1},{"productId":"BENCH-002","quantity":1}]}'
+
+JAVA_FEATURE="$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')"
+if [ "${JAVA_FEATURE%%.*}" -lt 21 ]; then
+    echo "Java $JAVA_FEATURE found; virtual-thread mode needs Java 21 or newer" >&2
+    exit 1
+fi
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+    (cd "$ROOT/inventory-service" && ./mvnw -q -DskipTests package)
+    (cd "$ROOT/order-service" && ./mvnw -q -DskipTests package)
+fi
+INVENTORY_JAR="$(ls "$ROOT"/inventory-service/target/inventory-service-*-exec.jar | head -n 1)"
+ORDER_JAR="$(ls "$ROOT"/order-service/target/order-service-*-exec.jar | head -n 1)"
+
+PIDS=()
+stop_services() {
+    for pid in "${PIDS[@]:-}"; do
+        [ -n "$pid" ] && kill "$pid" 2>/dev/null && wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop_services EXIT
+
+wait_for_health() {
+    for _ in $(seq 1 120); do
+        curl -sf "$1/actuator/health" > /dev/null && return 0
+        sleep 1
+    done
+    echo "Service at $1 did not become healthy" >&2
+    exit 1
+}
+
+seed_product() {
+    curl -sf -X POST http://localhost:8081/inventory/product -H 'Content-Type: application/json' \
+        -d "{\"productId\":\"$1\",\"name\":\"Benchmark $1\"}" > /dev/null
+    curl -sf -X POST http://localhost:8081/inventory/update -H 'Content-Type: application/json' \
+        -d "{\"productId\":\"$1\",\"batchId\":\"$1-B001\",\"quantity\":1000000000000,\"expiryDate\":\"2099-12-31\"}" > /dev/null
+}
+
+mkdir -p "$RESULTS_DIR"
+echo "mode,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms" > "$RESULTS"
+
+for MODE in platform virtual-threads; do
+    PROFILE_ARG=()
+    [ "$MODE" = "virtual-threads" ] && PROFILE_ARG=(--spring.profiles.active=virtual-threads)
+    echo "== $MODE =="
+
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$INVENTORY_JAR" "${PROFILE_ARG[@]}" > "$RESULTS_DIR/inventory-$MODE.log" 2>&1 &
+    PIDS+=($!)
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$ORDER_JAR" "${PROFILE_ARG[@]}" > "$RESULTS_DIR/order-$MODE.log" 2>&1 &
+    PIDS+=($!)
+    wait_for_health http://localhost:8081
+    wait_for_health http://localhost:8080
+    seed_product BENCH-001
+    seed_product BENCH-002
+
+    for LEVEL in "${LEVELS[@]}"; do
+        LINE="$(java "$ROOT/benchmark/LoadGenerator.java" http://localhost:8080/api/order "$ORDER_BODY" \
+            "$LEVEL" "$DURATION" "$WARMUP")"
+        echo "$MODE,$LINE" | tee -a "$RESULTS"
+    done
+
+    stop_services
+done
+
+echo
+echo "Results written to $RESULTS"
+column -s, -t < "$RESULTS"
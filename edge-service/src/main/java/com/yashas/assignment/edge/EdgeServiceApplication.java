@@ -0,0 +1,36 @@
+package com.yashas.assignment.edge;
+
+import com.yashas.assignment.inventory.InventoryServiceApplication;
+import com.yashas.assignment.order.OrderServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.FullyQualifiedAnnotationBeanNameGenerator;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Order Service and Inventory Service in one JVM, sharing one database and one web server.
+ * Orders reach inventory through {@link InProcessInventoryServiceClient} instead of HTTP.
+ * Components of both services are scanned with fully qualified bean names, since some class names,
+ * such as GlobalExceptionHandler, exist in both.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableScheduling
+@ComponentScan(
+        basePackages = {"com.yashas.assignment.edge", "com.yashas.assignment.order", "com.yashas.assignment.inventory"},
+        nameGenerator = FullyQualifiedAnnotationBeanNameGenerator.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {OrderServiceApplication.class, InventoryServiceApplication.class}))
+@EntityScan(basePackages = {"com.yashas.assignment.order", "com.yashas.assignment.inventory"})
+@EnableJpaRepositories(basePackages = {"com.yashas.assignment.order", "com.yashas.assignment.inventory"})
+public class EdgeServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(EdgeServiceApplication.class, args);
+    }
+}
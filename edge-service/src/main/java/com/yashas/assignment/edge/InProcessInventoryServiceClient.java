@@ -0,0 +1,117 @@
+package com.yashas.assignment.edge;
+
+import com.yashas.assignment.inventory.dto.RestoreInventoryDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
+import com.yashas.assignment.inventory.service.InventoryService;
+import com.yashas.assignment.order.client.InventoryServiceClient;
+import com.yashas.assignment.order.client.RequestDeadline;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Inventory client that calls {@link InventoryService} in the same JVM: no serialization, no sockets.
+ * Each call runs in a new inventory transaction, as it would behind HTTP, so it commits on its own and
+ * an inventory failure never marks the caller's order transaction rollback-only.
+ * The order's remaining deadline becomes the inventory request deadline, and failures surface as the
+ * same exceptions {@link com.yashas.assignment.order.client.HttpInventoryServiceClient} raises.
+ * There is no circuit breaker or bulkhead: there is no remote service to fail, and concurrency is
+ * already bounded by the shared connection pool.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.client.mode", havingValue = "in-process")
+@Slf4j
+public class InProcessInventoryServiceClient implements InventoryServiceClient {
+
+    private final InventoryService inventoryService;
+    private final TransactionTemplate inventoryTransaction;
+
+    public InProcessInventoryServiceClient(InventoryService inventoryService,
+                                           PlatformTransactionManager transactionManager) {
+        this.inventoryService = inventoryService;
+        this.inventoryTransaction = new TransactionTemplate(transactionManager);
+        this.inventoryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void updateInventory(String productId, Long quantityToReduce, String reference) {
+        log.info("Reducing inventory for product: {} by quantity: {}", productId, quantityToReduce);
+        UpdateInventoryDto updateDto = UpdateInventoryDto.builder()
+                .productId(productId)
+                .batchId("ORDER_REDUCTION")
+                .quantity(quantityToReduce)
+                .reference(reference)
+                .build();
+        try {
+            call(() -> inventoryService.updateInventory(updateDto));
+            log.info("Inventory updated successfully for product: {}", productId);
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Failed to update inventory for product: {}", productId, e);
+            throw new RuntimeException("Failed to update inventory: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void restoreInventory(String productId, String reference) {
+        log.info("Restoring deduction {} of product: {}", reference, productId);
+        RestoreInventoryDto restoreDto = RestoreInventoryDto.builder()
+                .productId(productId)
+                .reference(reference)
+                .build();
+        try {
+            call(() -> inventoryService.restoreInventory(restoreDto));
+            log.info("Inventory restored for deduction: {}", reference);
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Failed to restore deduction {} of product: {}", reference, productId, e);
+            throw new RuntimeException("Failed to restore inventory: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean checkInventoryAvailability(String productId) {
+        log.info("Checking inventory availability for product: {}", productId);
+        try {
+            call(() -> inventoryService.getBatchesByProductId(productId));
+            log.info("Product: {} has available inventory", productId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to check inventory for product: {} - {}", productId, e.getMessage());
+            return false;
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Inventory unavailable while checking product: {} - {}", productId, e.getMessage());
+            throw new InventoryUnavailableException("Inventory unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one inventory operation in its own transaction, bounded by the order's remaining deadline
+     */
+    private <T> T call(Supplier<T> operation) {
+        RequestDeadline.check();
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null) {
+            com.yashas.assignment.inventory.config.RequestDeadline.start(Math.max(1, remaining.toMillis()));
+        }
+        try {
+            return inventoryTransaction.execute(status -> operation.get());
+        } catch (com.yashas.assignment.inventory.exception.DeadlineExceededException e) {
+            throw new DeadlineExceededException(e.getMessage());
+        } finally {
+            com.yashas.assignment.inventory.config.RequestDeadline.clear();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.yashas.assignment.edge;
+
+import com.yashas.assignment.inventory.dto.BatchDto;
+import com.yashas.assignment.inventory.service.InventoryService;
+import com.yashas.assignment.order.client.InventoryServiceClient;
+import com.yashas.assignment.order.dto.OrderCreateDto;
+import com.yashas.assignment.order.dto.OrderItemCreateDto;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Both services in one context, with orders reaching inventory in-process.
+ * Not transactional: each test checks what the inventory calls committed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EdgeServiceApplicationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void testPlaceOrder_DeductsInventoryInProcess() {
+        // Arrange
+        long before = stock("RICE-001");
+        OrderCreateDto order = OrderCreateDto.builder()
+                .customerId("EDGE-C1")
+                .items(List.of(OrderItemCreateDto.builder().productId("RICE-001").quantity(7L).build()))
+                .build();
+
+        // Act
+        OrderResponseDto result = orderService.placeOrder(order);
+
+        // Assert
+        assertInstanceOf(InProcessInventoryServiceClient.class, inventoryServiceClient);
+        assertEquals(OrderStatus.CONFIRMED, result.getStatus());
+        assertEquals(before - 7, stock("RICE-001"));
+    }
+
+    @Test
+    void testUpdateInventory_CommitsIndependentlyOfCallerTransaction() {
+        // Arrange
+        long before = stock("SUGAR-001");
+
+        // Act - The caller's transaction rolls back after the deduction
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            inventoryServiceClient.updateInventory("SUGAR-001", 3L, "EDGE-ORD-1-0");
+            status.setRollbackOnly();
+        });
+
+        // Assert - As over HTTP, the deduction was its own transaction and stays applied
+        assertEquals(before - 3, stock("SUGAR-001"));
+    }
+
+    @Test
+    void testCheckInventoryAvailability_UnknownProductLeavesCallerTransactionUsable() {
+        // Act - The inventory lookup fails, but inside its own transaction
+        Boolean available = new TransactionTemplate(transactionManager).execute(status ->
+                inventoryServiceClient.checkInventoryAvailability("UNKNOWN-001"));
+
+        // Assert - The caller's transaction committed rather than being marked rollback-only
+        assertEquals(Boolean.FALSE, available);
+        assertTrue(inventoryServiceClient.checkInventoryAvailability("WHEAT-001"));
+    }
+
+    @Test
+    void testPlaceOrder_ConcurrentMultiLineOrdersShareThePool() throws Exception {
+        // Arrange - More clients than request threads, each ordering all three products
+        int clients = 24;
+        long wheat = stock("WHEAT-001");
+        long rice = stock("RICE-001");
+        long sugar = stock("SUGAR-001");
+        List<Callable<ResponseEntity<OrderResponseDto>>> orders = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            OrderCreateDto order = OrderCreateDto.builder()
+                    .customerId("EDGE-C" + (100 + i))
+                    .items(List.of(
+                            OrderItemCreateDto.builder().productId("WHEAT-001").quantity(1L).build(),
+                            OrderItemCreateDto.builder().productId("RICE-001").quantity(1L).build(),
+                            OrderItemCreateDto.builder().productId("SUGAR-001").quantity(1L).build()))
+                    .build();
+            orders.add(() -> restTemplate.postForEntity("/api/order", order, OrderResponseDto.class));
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<ResponseEntity<OrderResponseDto>> responses = new ArrayList<>();
+        try {
+            for (Future<ResponseEntity<OrderResponseDto>> response : executor.invokeAll(orders)) {
+                responses.add(response.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert - No order waited out the pool for its inventory transactions
+        for (ResponseEntity<OrderResponseDto> response : responses) {
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals(OrderStatus.CONFIRMED, response.getBody().getStatus());
+        }
+        assertEquals(wheat - clients, stock("WHEAT-001"));
+        assertEquals(rice - clients, stock("RICE-001"));
+        assertEquals(sugar - clients, stock("SUGAR-001"));
+
+        // Assert - The pool covers every request thread and pipeline worker holding a connection at once
+        assertFalse(environment.getRequiredProperty("order.inventory.fanout.enabled", Boolean.class));
+        int requestThreads = environment.getRequiredProperty("server.tomcat.threads.max", Integer.class);
+        int workers = environment.getRequiredProperty("order.pipeline.workers", Integer.class);
+        int poolSize = environment.getRequiredProperty("spring.datasource.hikari.maximum-pool-size", Integer.class);
+        assertTrue(poolSize >= requestThreads + workers);
+    }
+
+    private long stock(String productId) {
+        return inventoryService.getBatchesByProductId(productId).stream().mapToLong(BatchDto::getQuantity).sum();
+    }
+}
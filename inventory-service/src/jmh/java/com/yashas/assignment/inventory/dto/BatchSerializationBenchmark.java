@@ -0,0 +1,103 @@
+package com.yashas.assignment.inventory.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing a GET /inventory/{productId} body of 50 batches, in JSON and Smile:
+ * reflective serializers with a formatted expiry date per batch (the previous path),
+ * Blackbird accessors alone, and Blackbird with {@link CachedLocalDateSerializer} (the current path).
+ * Add {@code -prof gc} to the arguments for allocation per response ({@code gc.alloc.rate.norm}).
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="BatchSerializationBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSerializationBenchmark {
+
+    @Param({"reflection", "blackbird", "blackbird-cached-dates"})
+    public String path;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    /** Stands in for the servlet response buffer, which MVC's converter writes into */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    private List<BatchDto> batches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = builder(path).build();
+
+        // Batches received on a few delivery days share their expiry dates
+        batches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batches.add(BatchDto.builder()
+                    .id(10_000L + i)
+                    .batchId("WHEAT-B" + (1000 + i))
+                    .productId("WHEAT-001")
+                    .quantity(500L + i * 13L)
+                    .expiryDate(LocalDate.of(2026, 11, 1).plusDays(i / 5))
+                    .build());
+        }
+
+        // Every path must write the same bytes
+        byte[] previous = builder("reflection").build().writeValueAsBytes(batches);
+        if (!Arrays.equals(previous, mapper.writeValueAsBytes(batches))) {
+            throw new IllegalStateException(path + " output differs from the previous serializers");
+        }
+    }
+
+    @Benchmark
+    public int writeBatches() throws Exception {
+        out.reset();
+        mapper.writeValue(out, batches);
+        return out.size();
+    }
+
+    private Jackson2ObjectMapperBuilder builder(String path) {
+        Jackson2ObjectMapperBuilder builder = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile()
+                : Jackson2ObjectMapperBuilder.json();
+        if (!"reflection".equals(path)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (!"blackbird-cached-dates".equals(path)) {
+            builder.mixIn(BatchDto.class, FormattedExpiryDate.class);
+        }
+        return builder;
+    }
+
+    /** Drops the cached serializer, leaving the {@code @JsonFormat} pattern to the standard LocalDate serializer */
+    private abstract static class FormattedExpiryDate {
+
+        @JsonSerialize(using = JsonSerializer.None.class)
+        private LocalDate expiryDate;
+    }
+}
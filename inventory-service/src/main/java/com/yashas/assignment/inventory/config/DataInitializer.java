@@ -32,7 +32,7 @@ public class DataInitializer implements CommandLineRunner {
                 .name("Wheat")
                 .build();
         wheat = productRepository.save(wheat);
-        log.info("Created product: {}", wheat.getProductId());
+        log.debug("Created product: {}", wheat.getProductId());
 
         // Add batches for Wheat
         Batch batch1 = Batch.builder()
@@ -42,7 +42,7 @@ public class DataInitializer implements CommandLineRunner {
                 .expiryDate(LocalDate.now().plusMonths(6))
                 .build();
         batchRepository.save(batch1);
-        log.info("Added batch: {}", batch1.getBatchId());
+        log.debug("Added batch: {}", batch1.getBatchId());
 
         Batch batch2 = Batch.builder()
                 .batchId("WHEAT-B002")
@@ -51,7 +51,7 @@ public class DataInitializer implements CommandLineRunner {
                 .expiryDate(LocalDate.now().plusMonths(9))
                 .build();
         batchRepository.save(batch2);
-        log.info("Added batch: {}", batch2.getBatchId());
+        log.debug("Added batch: {}", batch2.getBatchId());
 
         // Create Product 2: Rice
         Product rice = Product.builder()
@@ -59,7 +59,7 @@ public class DataInitializer implements CommandLineRunner {
                 .name("Rice")
                 .build();
         rice = productRepository.save(rice);
-        log.info("Created product: {}", rice.getProductId());
+        log.debug("Created product: {}", rice.getProductId());
 
         // Add batches for Rice
         Batch batch3 = Batch.builder()
@@ -69,7 +69,7 @@ public class DataInitializer implements CommandLineRunner {
                 .expiryDate(LocalDate.now().plusMonths(12))
                 .build();
         batchRepository.save(batch3);
-        log.info("Added batch: {}", batch3.getBatchId());
+        log.debug("Added batch: {}", batch3.getBatchId());
 
         Batch batch4 = Batch.builder()
                 .batchId("RICE-B002")
@@ -78,7 +78,7 @@ public class DataInitializer implements CommandLineRunner {
                 .expiryDate(LocalDate.now().plusMonths(8))
                 .build();
         batchRepository.save(batch4);
-        log.info("Added batch: {}", batch4.getBatchId());
+        log.debug("Added batch: {}", batch4.getBatchId());
 
         // Create Product 3: Sugar
         Product sugar = Product.builder()
@@ -86,7 +86,7 @@ public class DataInitializer implements CommandLineRunner {
                 .name("Sugar")
                 .build();
         sugar = productRepository.save(sugar);
-        log.info("Created product: {}", sugar.getProductId());
+        log.debug("Created product: {}", sugar.getProductId());
 
         // Add batch for Sugar
         Batch batch5 = Batch.builder()
@@ -96,7 +96,7 @@ public class DataInitializer implements CommandLineRunner {
                 .expiryDate(LocalDate.now().plusMonths(18))
                 .build();
         batchRepository.save(batch5);
-        log.info("Added batch: {}", batch5.getBatchId());
+        log.debug("Added batch: {}", batch5.getBatchId());
 
         log.info("Sample inventory data initialization completed!");
     }
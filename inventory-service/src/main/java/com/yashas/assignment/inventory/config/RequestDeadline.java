@@ -0,0 +1,76 @@
+package com.yashas.assignment.inventory.config;
+
+import com.yashas.assignment.inventory.exception.DeadlineExceededException;
+
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request the current thread is serving, taken from the caller's
+ * {@value #HEADER} header (remaining milliseconds) by {@link RequestDeadlineInterceptor}.
+ * Requests without the header are unbounded.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Bound the current thread's work to the given number of milliseconds from now
+     */
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * The current thread's deadline, or null when its work is unbounded
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Run work on this thread under the given deadline (null for none), restoring the previous one afterwards
+     */
+    public static <T> T supplyWithin(Long deadline, Supplier<T> work) {
+        Long previous = DEADLINE.get();
+        set(deadline);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Whether the current thread's deadline has passed; false when unbounded
+     */
+    public static boolean isExpired() {
+        Long deadline = DEADLINE.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Throw DeadlineExceededException when the current deadline has passed
+     */
+    public static void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+
+    private static void set(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.yashas.assignment.inventory.config;
+
+import com.yashas.assignment.inventory.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Honours the caller's {@value RequestDeadline#HEADER} header.
+ * Requests that arrive with no budget left are rejected before any work is done;
+ * the others run with a {@link RequestDeadline} that the services check before committing work.
+ */
+@Component
+@Slf4j
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    private final Counter expiredOnArrival;
+
+    public RequestDeadlineInterceptor(MeterRegistry meterRegistry) {
+        this.expiredOnArrival = Counter.builder("inventory.requests.expired")
+                .description("Requests rejected on arrival because the caller's deadline had passed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            return true;
+        }
+        long budgetMillis;
+        try {
+            budgetMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + RequestDeadline.HEADER + " header: " + header);
+        }
+        if (budgetMillis <= 0) {
+            expiredOnArrival.increment();
+            log.warn("Rejecting {} {}, caller's deadline already passed", request.getMethod(), request.getRequestURI());
+            throw new DeadlineExceededException("Request deadline exceeded before processing started");
+        }
+        RequestDeadline.start(budgetMillis);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package com.yashas.assignment.inventory.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.Lifecycle;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Optional Unix domain socket listener for co-located callers.
+ * Adds a second Tomcat connector bound to {@code inventory.server.unix-socket.path} next to the TCP port,
+ * serving the same application, so a client on the same host can skip the loopback TCP stack.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.server.unix-socket.path")
+@Slf4j
+public class UnixDomainSocketConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> unixDomainSocketConnector(
+            @Value("${inventory.server.unix-socket.path}") Path socketPath,
+            @Value("${inventory.server.unix-socket.permissions:rw-rw----}") String permissions) {
+        return factory -> {
+            // A socket file left by a process that did not shut down cleanly would make the bind fail
+            if (deleteSocketFile(socketPath)) {
+                log.warn("Removed stale Unix domain socket {}", socketPath);
+            }
+            Connector connector = new Connector(Http11NioProtocol.class.getName());
+            connector.setProperty("unixDomainSocketPath", socketPath.toString());
+            connector.setProperty("unixDomainSocketPathPermissions", permissions);
+            connector.addLifecycleListener(event -> {
+                if (Lifecycle.AFTER_STOP_EVENT.equals(event.getType())) {
+                    deleteSocketFile(socketPath);
+                }
+            });
+            factory.addAdditionalTomcatConnectors(connector);
+            log.info("Inventory Service also listening on Unix domain socket {}", socketPath);
+        };
+    }
+
+    private static boolean deleteSocketFile(Path socketPath) {
+        try {
+            return Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot remove Unix domain socket " + socketPath, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yashas.assignment.inventory.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration: inventory endpoints honour the caller's request deadline,
+ * and every endpoint speaks Smile ({@code application/x-jackson-smile}) as well as JSON,
+ * chosen by the request's Content-Type and Accept headers.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestDeadlineInterceptor).addPathPatterns("/inventory/**");
+    }
+
+    /**
+     * Jackson module replacing reflective getter calls with generated accessors.
+     * Registered by Spring Boot with the application ObjectMapper and builder, so JSON and Smile both use it.
+     * Named apart from the order service's module bean, which the edge deployment loads alongside it.
+     */
+    @Bean
+    public BlackbirdModule inventoryBlackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Smile converter built from the application's Jackson settings, so both encodings carry the same fields
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,18 +1,30 @@
 package com.yashas.assignment.inventory.controller;
 
+import com.yashas.assignment.inventory.dto.BatchUpdateInventoryDto;
 import com.yashas.assignment.inventory.dto.CreateProductDto;
 import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryResultDto;
 import com.yashas.assignment.inventory.dto.BatchDto;
 import com.yashas.assignment.inventory.dto.ProductDto;
+import com.yashas.assignment.inventory.dto.RestoreInventoryDto;
+import com.yashas.assignment.inventory.dto.RestoreInventoryResultDto;
+import com.yashas.assignment.inventory.dto.StockSummaryDto;
+import com.yashas.assignment.inventory.service.ExpiryReportService;
+import com.yashas.assignment.inventory.service.InventoryBatchUpdateService;
 import com.yashas.assignment.inventory.service.InventoryService;
+import com.yashas.assignment.inventory.service.StockSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,7 +35,13 @@ import java.util.List;
 @Tag(name = "Inventory", description = "Inventory management endpoints")
 public class InventoryController {
 
+    /** Widest expiring-report window, ten years */
+    static final int MAX_REPORT_DAYS = 3650;
+
     private final InventoryService inventoryService;
+    private final InventoryBatchUpdateService inventoryBatchUpdateService;
+    private final ExpiryReportService expiryReportService;
+    private final StockSummaryService stockSummaryService;
 
     /**
      * GET /inventory/{productId} - Returns list of inventory batches sorted by expiry date
@@ -69,5 +87,56 @@ public class InventoryController {
         BatchDto batch = inventoryService.updateInventory(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(batch);
     }
-}
 
+    /**
+     * POST /inventory/update/batch - Apply several independent inventory updates in one request
+     * Each entry succeeds or fails on its own; results come back in request order
+     */
+    @PostMapping("/update/batch")
+    @Operation(summary = "Update inventory in bulk",
+            description = "Applies several inventory updates, each in its own transaction, and returns a per-entry result "
+                    + "in request order. Used by the Order Service to coalesce deductions from concurrent orders")
+    public ResponseEntity<List<UpdateInventoryResultDto>> updateInventoryBatch(
+            @Valid @RequestBody BatchUpdateInventoryDto request) {
+        log.info("POST /inventory/update/batch - Updates: {}", request.getUpdates().size());
+        return ResponseEntity.ok(inventoryBatchUpdateService.updateInventory(request.getUpdates()));
+    }
+
+    /**
+     * POST /inventory/restore - Return the stock taken by a referenced order deduction
+     * Used by the Order Service to compensate orders that could not be completed
+     */
+    @PostMapping("/restore")
+    @Operation(summary = "Restore a deduction",
+            description = "Returns the stock taken by the order deduction with the given reference to the batches it came from. "
+                    + "Idempotent; a reference that was never deducted is blocked from being deducted later")
+    public ResponseEntity<RestoreInventoryResultDto> restoreInventory(@Valid @RequestBody RestoreInventoryDto request) {
+        log.info("POST /inventory/restore - Product: {}, Reference: {}", request.getProductId(), request.getReference());
+        return ResponseEntity.ok(inventoryService.restoreInventory(request));
+    }
+
+    /**
+     * GET /inventory/reports/expiring?days=N - Streams batches expiring within N days, grouped by product
+     */
+    @GetMapping(value = "/reports/expiring", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get batches expiring soon",
+            description = "Streams all batches across products that expire within the given number of days, grouped by product")
+    public ResponseEntity<StreamingResponseBody> getExpiringBatches(
+            @RequestParam(defaultValue = "7") @Min(0) @Max(MAX_REPORT_DAYS) int days) {
+        log.info("GET /inventory/reports/expiring - Days: {}", days);
+        StreamingResponseBody body = out -> expiryReportService.writeExpiringReport(days, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * GET /inventory/reports/summary - Returns stock totals across all products
+     */
+    @GetMapping("/reports/summary")
+    @Operation(summary = "Get stock summary",
+            description = "Returns units on hand, units expiring per week and depleted batch count across all products. "
+                    + "Served from a periodically refreshed cache")
+    public ResponseEntity<StockSummaryDto> getStockSummary() {
+        log.info("GET /inventory/reports/summary");
+        return ResponseEntity.ok(stockSummaryService.getSummary());
+    }
+}
@@ -1,6 +1,7 @@
 package com.yashas.assignment.inventory.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,7 @@ public class BatchDto {
     private Long quantity;
 
     @JsonFormat(pattern = "yyyy-MM-dd")
+    @JsonSerialize(using = CachedLocalDateSerializer.class)
     private LocalDate expiryDate;
 }
 
@@ -0,0 +1,18 @@
+package com.yashas.assignment.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Minimal batch projection read by the stock summary report
+ */
+@Getter
+@AllArgsConstructor
+public class BatchStockRow {
+    private Long id;
+    private Long quantity;
+    private LocalDate expiryDate;
+    private boolean retired;
+}
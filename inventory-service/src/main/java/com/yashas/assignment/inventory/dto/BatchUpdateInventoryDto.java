@@ -0,0 +1,24 @@
+package com.yashas.assignment.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for POST /inventory/update/batch
+ * Several independent inventory updates, typically deductions coalesced from concurrent orders
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUpdateInventoryDto {
+
+    @NotEmpty(message = "At least one update is required")
+    private List<@Valid UpdateInventoryDto> updates;
+}
@@ -0,0 +1,41 @@
+package com.yashas.assignment.inventory.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes LocalDate values as yyyy-MM-dd from a shared cache of pre-encoded strings.
+ * Expiry dates repeat across batches and products, so each distinct date is formatted once
+ * instead of once per batch written, and generators copy its cached UTF-8 bytes.
+ * At most {@link #MAX_CACHED_DATES} dates are kept; others are formatted on every use.
+ */
+public class CachedLocalDateSerializer extends StdSerializer<LocalDate> {
+
+    static final int MAX_CACHED_DATES = 4096;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final ConcurrentHashMap<LocalDate, SerializedString> CACHE = new ConcurrentHashMap<>();
+
+    public CachedLocalDateSerializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        SerializedString formatted = CACHE.get(value);
+        if (formatted == null) {
+            formatted = new SerializedString(value.format(FORMAT));
+            if (CACHE.size() < MAX_CACHED_DATES) {
+                CACHE.putIfAbsent(value, formatted);
+            }
+        }
+        generator.writeString(formatted);
+    }
+}
@@ -0,0 +1,24 @@
+package com.yashas.assignment.inventory.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for POST /inventory/restore
+ * Returns the stock taken by the order deduction with the given reference
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestoreInventoryDto {
+
+    @NotBlank(message = "Product ID is required")
+    private String productId;
+
+    @NotBlank(message = "Reference is required")
+    private String reference;
+}
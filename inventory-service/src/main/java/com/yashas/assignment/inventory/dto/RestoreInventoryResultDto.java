@@ -0,0 +1,20 @@
+package com.yashas.assignment.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for POST /inventory/restore
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestoreInventoryResultDto {
+
+    private String reference;
+
+    private Long quantityRestored;  // 0 when the reference was never deducted or already restored
+}
@@ -0,0 +1,32 @@
+package com.yashas.assignment.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for GET /inventory/reports/summary
+ * Stock totals across all products, computed periodically in the background
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSummaryDto {
+
+    private LocalDateTime generatedAt;
+
+    private Long totalBatches;
+
+    private Long unitsOnHand;
+
+    private Long expiredUnits;
+
+    private Long depletedBatches;
+
+    private List<WeeklyExpiryDto> unitsExpiringPerWeek;
+}
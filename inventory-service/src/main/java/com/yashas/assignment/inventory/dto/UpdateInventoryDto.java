@@ -33,5 +33,9 @@ public class UpdateInventoryDto {
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate expiryDate;  // Required for adding new batch, optional for quantity reduction
+
+    private String reference;  // Optional for quantity reduction; makes it idempotent and restorable
+
+    private Long budgetMillis;  // Optional for batch entries; the caller's remaining budget, checked per entry
 }
 
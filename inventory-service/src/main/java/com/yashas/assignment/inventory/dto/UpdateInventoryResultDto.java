@@ -0,0 +1,23 @@
+package com.yashas.assignment.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of POST /inventory/update/batch
+ * Results are returned in the same order as the updates in the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateInventoryResultDto {
+
+    private boolean success;
+
+    private BatchDto batch;  // First affected batch, set on success
+
+    private String error;  // Rejection reason, set on failure
+}
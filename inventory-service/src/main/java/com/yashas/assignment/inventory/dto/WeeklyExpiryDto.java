@@ -0,0 +1,21 @@
+package com.yashas.assignment.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyExpiryDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate weekStart;
+
+    private Long units;
+}
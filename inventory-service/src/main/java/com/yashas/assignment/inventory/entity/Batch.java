@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "batches")
+@Table(name = "batches", indexes = {
+    @Index(name = "idx_batch_product_expiry", columnList = "product_id, expiry_date"),
+    @Index(name = "idx_batch_expiry", columnList = "expiry_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,5 +35,12 @@ public class Batch {
 
     @Column(nullable = false)
     private LocalDate expiryDate;
+
+    /**
+     * Set by the expiry sweep once the batch's expiry day has passed.
+     * Retired batches are never allocated.
+     */
+    @Column(nullable = false)
+    private boolean retired;
 }
 
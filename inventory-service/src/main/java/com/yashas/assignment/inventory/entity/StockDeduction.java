@@ -0,0 +1,53 @@
+package com.yashas.assignment.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger of order deductions, one row per batch a referenced deduction drew from.
+ * Makes deductions idempotent per reference and lets a restore return exactly what was taken.
+ * A restore of a reference that was never deducted leaves a tombstone row (no batch, restored)
+ * so a late deduction with that reference is refused.
+ */
+@Entity
+@Table(name = "stock_deductions", indexes = {
+    @Index(name = "idx_deduction_reference", columnList = "reference")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockDeduction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String reference;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id")
+    private Batch batch;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private boolean restored;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
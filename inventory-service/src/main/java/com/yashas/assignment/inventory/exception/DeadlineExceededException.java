@@ -0,0 +1,12 @@
+package com.yashas.assignment.inventory.exception;
+
+/**
+ * Thrown when the caller's deadline passes before the request's work is done.
+ * Mapped to 504 Gateway Timeout; nothing the request started is committed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 /**
  * Global exception handler for Inventory Service
  */
-@RestControllerAdvice
+@RestControllerAdvice(basePackages = "com.yashas.assignment.inventory")
 @Slf4j
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler  {
 
@@ -30,6 +30,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler  {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .error("Gateway Timeout")
+                .message(ex.getMessage())
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntime(RuntimeException ex) {
         log.error("Runtime error: {}", ex.getMessage());
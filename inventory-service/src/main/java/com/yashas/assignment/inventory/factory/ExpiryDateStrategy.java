@@ -7,7 +7,9 @@ import java.util.Comparator;
 import java.util.List;
 
 /**
- * Expiry Date allocation strategy - allocates from batches based on expiry date
+ * Expiry Date allocation strategy - allocates from batches based on expiry date.
+ * Expired and retired batches never reach it: BatchRepository.findAllocatableBatches
+ * starts its range seek at the first live expiry day.
  */
 @Component
 public class ExpiryDateStrategy implements AllocationStrategy {
@@ -0,0 +1,166 @@
+package com.yashas.assignment.inventory.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micrometer instrumentation for the allocation engine.
+ * Histograms are tagged by strategy and outcome only. The product tag is limited to
+ * {@code inventory.metrics.max-product-tags} products, the rest report as "other": free tags go to
+ * products as they are first seen, and every {@code inventory.metrics.product-tags-reselect-interval}
+ * the tagged set is replaced by the products with the most requests in the last interval,
+ * so a product that turns hot later gets its own tag.
+ */
+@Component
+public class AllocationMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_INSUFFICIENT_STOCK = "insufficient_stock";
+    public static final String OUTCOME_NO_BATCHES = "no_batches";
+    public static final String OUTCOME_DEADLINE_EXCEEDED = "deadline_exceeded";
+
+    private static final String OTHER_PRODUCTS = "other";
+
+    private final MeterRegistry registry;
+    private final int maxProductTags;
+    private volatile Set<String> taggedProducts = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, LongAdder> recentRequests = new ConcurrentHashMap<>();
+
+    private final Timer lockWait;
+    private final DistributionSummary rowsWritten;
+
+    public AllocationMetrics(MeterRegistry registry,
+                             @Value("${inventory.metrics.max-product-tags:100}") int maxProductTags) {
+        this.registry = registry;
+        this.maxProductTags = maxProductTags;
+        this.lockWait = Timer.builder("inventory.allocation.lock.wait")
+                .description("Time spent loading and locking allocatable batches")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rowsWritten = DistributionSummary.builder("inventory.deduction.rows.written")
+                .description("Batch rows updated per deduction")
+                .register(registry);
+    }
+
+    public void recordAllocation(String strategy, String outcome, long elapsedNanos, int batchesScanned, int batchesTouched) {
+        Timer.builder("inventory.allocation.latency")
+                .description("End-to-end latency of an order reduction")
+                .tag("strategy", strategy)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("inventory.allocation.batches.scanned")
+                .tag("strategy", strategy)
+                .register(registry)
+                .record(batchesScanned);
+        DistributionSummary.builder("inventory.allocation.batches.touched")
+                .tag("strategy", strategy)
+                .register(registry)
+                .record(batchesTouched);
+    }
+
+    public void recordRowsWritten(int rows) {
+        rowsWritten.record(rows);
+    }
+
+    public void recordLockWait(long elapsedNanos) {
+        lockWait.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(String reason) {
+        Counter.builder("inventory.allocation.rejections")
+                .description("Order reductions rejected by the allocation engine")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void countProductRequest(String productId) {
+        Counter.builder("inventory.allocation.requests")
+                .description("Order reductions per product, for spotting hot products")
+                .tag("product", productTag(productId))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Time the surrounding transaction from now until it commits or rolls back.
+     */
+    public void trackTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long started = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Timer.builder("inventory.deduction.transaction")
+                        .description("Deduction transaction time including commit")
+                        .tag("status", status == STATUS_COMMITTED ? "committed" : "rolled_back")
+                        .register(registry)
+                        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Replace the tagged products with those requested most since the last reselection.
+     * Counters of products that lose their tag are removed, so the number of product series stays bounded.
+     */
+    @Scheduled(fixedDelayString = "${inventory.metrics.product-tags-reselect-interval:PT1M}",
+            initialDelayString = "${inventory.metrics.product-tags-reselect-interval:PT1M}")
+    public synchronized void reselectProductTags() {
+        Map<String, LongAdder> window = recentRequests;
+        recentRequests = new ConcurrentHashMap<>();
+
+        Set<String> selected = ConcurrentHashMap.newKeySet();
+        window.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+                        .reversed())
+                .limit(maxProductTags)
+                .forEach(entry -> selected.add(entry.getKey()));
+        for (String productId : taggedProducts) {
+            if (!selected.contains(productId)) {
+                registry.find("inventory.allocation.requests").tag("product", productId).meters()
+                        .forEach(registry::remove);
+            }
+        }
+        taggedProducts = selected;
+    }
+
+    private String productTag(String productId) {
+        recentRequests.computeIfAbsent(productId, id -> new LongAdder()).increment();
+        Set<String> tagged = taggedProducts;
+        if (tagged.contains(productId)) {
+            return productId;
+        }
+        if (tagged.size() >= maxProductTags) {
+            return OTHER_PRODUCTS;
+        }
+        synchronized (this) {
+            if (taggedProducts.contains(productId)) {
+                return productId;
+            }
+            if (taggedProducts.size() < maxProductTags) {
+                taggedProducts.add(productId);
+                return productId;
+            }
+        }
+        return OTHER_PRODUCTS;
+    }
+}
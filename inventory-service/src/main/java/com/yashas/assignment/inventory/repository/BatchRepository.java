@@ -1,10 +1,19 @@
 package com.yashas.assignment.inventory.repository;
 
+import com.yashas.assignment.inventory.dto.BatchDto;
+import com.yashas.assignment.inventory.dto.BatchStockRow;
 import com.yashas.assignment.inventory.entity.Batch;
 import com.yashas.assignment.inventory.entity.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +22,70 @@ public interface BatchRepository extends JpaRepository<Batch, Long> {
     
     Optional<Batch> findByBatchId(String batchId);
 
-    List<Batch> findByProduct(Product product);
-    
-    List<Batch> findByProductOrderByExpiryDateAsc(Product product);
+    /**
+     * Read-side listing: selects straight into BatchDto with the product's business key joined in,
+     * so no Batch entities or Product proxies are hydrated.
+     */
+    @Query("SELECT new com.yashas.assignment.inventory.dto.BatchDto(" +
+            "b.id, b.batchId, p.productId, b.quantity, b.expiryDate) " +
+            "FROM Batch b JOIN b.product p WHERE p.productId = :productId ORDER BY b.expiryDate ASC")
+    List<BatchDto> findBatchDtosByProductId(@Param("productId") String productId);
 
-}
+    /**
+     * Batches that can still be allocated, starting at the first non-expired expiry day.
+     * Served by a range seek on idx_batch_product_expiry, so expired stock is never read.
+     * Rows are locked so concurrent reductions of the same product serialize instead of overselling.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Batch b WHERE b.product = :product AND b.retired = false " +
+            "AND b.expiryDate >= :firstLiveDay ORDER BY b.expiryDate ASC")
+    List<Batch> findAllocatableBatches(@Param("product") Product product,
+                                       @Param("firstLiveDay") LocalDate firstLiveDay);
+
+    /**
+     * Lock the batches a reference's deductions drew from, whether or not they are still allocatable,
+     * so a restore never writes a batch it does not hold.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Batch b WHERE b.id IN " +
+            "(SELECT d.batch.id FROM StockDeduction d WHERE d.reference = :reference) ORDER BY b.id")
+    List<Batch> lockDeductedBatches(@Param("reference") String reference);
+
+    /**
+     * Retire every batch whose expiry day falls in [fromDay, toDay) in a single statement.
+     */
+    @Modifying
+    @Query("UPDATE Batch b SET b.retired = true WHERE b.retired = false " +
+            "AND b.expiryDate >= :fromDay AND b.expiryDate < :toDay")
+    int retireExpiryBuckets(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    /**
+     * Live batches of the given products expiring in [fromDay, toDay], each product's batches together.
+     * Every product id is a range seek into idx_batch_product_expiry (product, expiry day) bounded by
+     * the window, so batches outside it are never read.
+     */
+    @Query("SELECT new com.yashas.assignment.inventory.dto.BatchDto(" +
+            "b.id, b.batchId, p.productId, b.quantity, b.expiryDate) " +
+            "FROM Batch b JOIN b.product p " +
+            "WHERE b.product.id IN :productIds AND b.expiryDate BETWEEN :fromDay AND :toDay " +
+            "AND b.retired = false AND b.quantity > 0 " +
+            "ORDER BY b.product.id, b.expiryDate, b.id")
+    List<BatchDto> findExpiringBetween(@Param("productIds") List<Long> productIds,
+                                       @Param("fromDay") LocalDate fromDay,
+                                       @Param("toDay") LocalDate toDay);
 
+    @Query("SELECT MIN(b.id) FROM Batch b")
+    Optional<Long> findMinId();
+
+    @Query("SELECT MAX(b.id) FROM Batch b")
+    Optional<Long> findMaxId();
+
+    /**
+     * One chunk of the stock summary scan: batches with afterId < id <= toId in id order.
+     */
+    @Query("SELECT new com.yashas.assignment.inventory.dto.BatchStockRow(" +
+            "b.id, b.quantity, b.expiryDate, b.retired) " +
+            "FROM Batch b WHERE b.id > :afterId AND b.id <= :toId ORDER BY b.id")
+    List<BatchStockRow> findStockRows(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable chunk);
+
+}
@@ -1,9 +1,13 @@
 package com.yashas.assignment.inventory.repository;
 
 import com.yashas.assignment.inventory.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +15,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findByProductId(String productId);
 
+    boolean existsByProductId(String productId);
+
+    /**
+     * One keyset page of product ids: ids greater than afterId, in id order.
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable page);
+
 }
 
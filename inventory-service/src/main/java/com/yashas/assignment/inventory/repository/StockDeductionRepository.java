@@ -0,0 +1,14 @@
+package com.yashas.assignment.inventory.repository;
+
+import com.yashas.assignment.inventory.entity.StockDeduction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockDeductionRepository extends JpaRepository<StockDeduction, Long> {
+
+    List<StockDeduction> findByReference(String reference);
+
+}
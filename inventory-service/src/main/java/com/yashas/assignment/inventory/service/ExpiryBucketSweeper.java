@@ -0,0 +1,39 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.repository.BatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduled sweep that retires expired batches one expiry-day bucket range at a time.
+ * Each run only covers the buckets that expired since the previous run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiryBucketSweeper {
+
+    private final BatchRepository batchRepository;
+
+    // First expiry day not yet swept; the first run after startup covers every past bucket
+    private LocalDate sweptUntil = LocalDate.EPOCH;
+
+    @Scheduled(cron = "${inventory.expiry.sweep-cron:0 5 0 * * *}")
+    @Transactional
+    public synchronized int retireExpiredBuckets() {
+        LocalDate firstLiveDay = LocalDate.now();
+        if (!sweptUntil.isBefore(firstLiveDay)) {
+            return 0;
+        }
+
+        int retired = batchRepository.retireExpiryBuckets(sweptUntil, firstLiveDay);
+        log.info("Retired {} expired batches with expiry before {}", retired, firstLiveDay);
+        sweptUntil = firstLiveDay;
+        return retired;
+    }
+}
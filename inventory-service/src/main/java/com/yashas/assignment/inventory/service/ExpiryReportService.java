@@ -0,0 +1,114 @@
+package com.yashas.assignment.inventory.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yashas.assignment.inventory.dto.BatchDto;
+import com.yashas.assignment.inventory.repository.BatchRepository;
+import com.yashas.assignment.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Builds the cross-product expiring-soon report.
+ * Products are walked in id order a page at a time, and each page's expiring batches are read with one
+ * seek per product into (product, expiry day), so the cost follows the number of products and matching
+ * batches rather than the size of the batches table. Each page is written to the response before the next
+ * is read, so the full result is never held in memory.
+ */
+@Service
+@Slf4j
+public class ExpiryReportService {
+
+    private final BatchRepository batchRepository;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter batchWriter;
+    private final int productsPerPage;
+
+    public ExpiryReportService(BatchRepository batchRepository,
+                               ProductRepository productRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${inventory.expiry.report-products-per-page:200}") int productsPerPage) {
+        this.batchRepository = batchRepository;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.batchWriter = objectMapper.writerFor(BatchDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.productsPerPage = productsPerPage;
+    }
+
+    /**
+     * Write all live batches expiring within the next {@code days} days, grouped by product:
+     * [{"productId": ..., "batches": [...], "totalQuantity": ...}, ...]
+     */
+    @Transactional(readOnly = true)
+    public void writeExpiringReport(int days, OutputStream out) throws IOException {
+        LocalDate fromDay = LocalDate.now();
+        LocalDate toDay = fromDay.plusDays(days);
+        log.info("Streaming expiring batches report from {} to {}", fromDay, toDay);
+
+        int products = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+
+            Pageable page = PageRequest.of(0, productsPerPage);
+            List<Long> productIds = productRepository.findIdsAfter(0L, page);
+            while (!productIds.isEmpty()) {
+                products += writeGroups(json, batchRepository.findExpiringBetween(productIds, fromDay, toDay));
+                if (productIds.size() < productsPerPage) {
+                    break;
+                }
+                productIds = productRepository.findIdsAfter(productIds.get(productIds.size() - 1), page);
+            }
+
+            json.writeEndArray();
+        }
+        log.info("Expiring batches report completed. Products: {}", products);
+    }
+
+    /**
+     * Write one page of rows, which arrive grouped by product, and return the number of groups written.
+     */
+    private int writeGroups(JsonGenerator json, List<BatchDto> rows) throws IOException {
+        int groups = 0;
+        String currentProduct = null;
+        long groupQuantity = 0;
+        for (BatchDto batch : rows) {
+            if (!batch.getProductId().equals(currentProduct)) {
+                if (currentProduct != null) {
+                    endGroup(json, groupQuantity);
+                }
+                currentProduct = batch.getProductId();
+                groupQuantity = 0;
+                groups++;
+                json.writeStartObject();
+                json.writeStringField("productId", currentProduct);
+                json.writeArrayFieldStart("batches");
+            }
+            batchWriter.writeValue(json, batch);
+            groupQuantity += batch.getQuantity();
+        }
+        if (currentProduct != null) {
+            endGroup(json, groupQuantity);
+        }
+        return groups;
+    }
+
+    private void endGroup(JsonGenerator json, long groupQuantity) throws IOException {
+        json.writeEndArray();
+        json.writeNumberField("totalQuantity", groupQuantity);
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,117 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.config.RequestDeadline;
+import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryResultDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a batch of independent inventory updates.
+ * Every entry runs in its own transaction through {@link InventoryService}, so a rejected
+ * entry (unknown product, insufficient stock) fails only itself and never the rest of the batch.
+ * Entries are grouped by product: a product's entries are applied in request order, since they lock
+ * the same batch rows, while different products are applied concurrently on a dedicated pool, so no entry
+ * waits behind another product's lock waits. Each entry is bounded by its own {@code budgetMillis}, counted
+ * from the request's arrival, or by the request's deadline when it has none. Entries whose deadline has passed
+ * are reported as failed without being applied.
+ */
+@Service
+@Slf4j
+public class InventoryBatchUpdateService {
+
+    private final InventoryService inventoryService;
+    private final int maxEntries;
+    private final ExecutorService pool;
+
+    public InventoryBatchUpdateService(InventoryService inventoryService,
+                                       @Value("${inventory.update.batch.max-entries:500}") int maxEntries,
+                                       @Value("${inventory.update.batch.parallelism:8}") int parallelism) {
+        this.inventoryService = inventoryService;
+        this.maxEntries = maxEntries;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-batch-update-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * POST /inventory/update/batch - Apply each update and report its outcome, in request order
+     */
+    public List<UpdateInventoryResultDto> updateInventory(List<UpdateInventoryDto> updates) {
+        if (updates.size() > maxEntries) {
+            throw new IllegalArgumentException("Too many updates in one batch. Maximum: "
+                    + maxEntries + ", Requested: " + updates.size());
+        }
+        log.info("Applying inventory batch of {} updates", updates.size());
+
+        Map<String, List<Integer>> entriesByProduct = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            entriesByProduct.computeIfAbsent(updates.get(i).getProductId(), productId -> new ArrayList<>()).add(i);
+        }
+
+        UpdateInventoryResultDto[] results = new UpdateInventoryResultDto[updates.size()];
+        long received = System.nanoTime();
+        Long requestDeadline = RequestDeadline.current();
+        List<CompletableFuture<Void>> products = new ArrayList<>(entriesByProduct.size());
+        for (List<Integer> entries : entriesByProduct.values()) {
+            products.add(CompletableFuture.runAsync(() -> {
+                for (int index : entries) {
+                    UpdateInventoryDto update = updates.get(index);
+                    Long deadline = requestDeadline;
+                    if (update.getBudgetMillis() != null) {
+                        deadline = received + TimeUnit.MILLISECONDS.toNanos(update.getBudgetMillis());
+                    }
+                    results[index] = RequestDeadline.supplyWithin(deadline, () -> apply(update));
+                }
+            }, pool));
+        }
+        CompletableFuture.allOf(products.toArray(new CompletableFuture[0])).join();
+
+        long failed = Arrays.stream(results).filter(result -> !result.isSuccess()).count();
+        log.info("Inventory batch completed. Applied: {}, Rejected: {}", updates.size() - failed, failed);
+        return Arrays.asList(results);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private UpdateInventoryResultDto apply(UpdateInventoryDto update) {
+        if (RequestDeadline.isExpired()) {
+            return UpdateInventoryResultDto.builder()
+                    .success(false)
+                    .error("Request deadline exceeded")
+                    .build();
+        }
+        try {
+            return UpdateInventoryResultDto.builder()
+                    .success(true)
+                    .batch(inventoryService.updateInventory(update))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Batch entry rejected - Product: {}, Batch: {} - {}",
+                    update.getProductId(), update.getBatchId(), e.getMessage());
+            return UpdateInventoryResultDto.builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build();
+        }
+    }
+}
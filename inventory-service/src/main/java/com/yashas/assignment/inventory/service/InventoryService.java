@@ -1,22 +1,29 @@
 package com.yashas.assignment.inventory.service;
 
+import com.yashas.assignment.inventory.config.RequestDeadline;
 import com.yashas.assignment.inventory.dto.CreateProductDto;
 import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
 import com.yashas.assignment.inventory.dto.BatchDto;
 import com.yashas.assignment.inventory.dto.ProductDto;
+import com.yashas.assignment.inventory.dto.RestoreInventoryDto;
+import com.yashas.assignment.inventory.dto.RestoreInventoryResultDto;
 import com.yashas.assignment.inventory.entity.Batch;
 import com.yashas.assignment.inventory.entity.Product;
+import com.yashas.assignment.inventory.entity.StockDeduction;
+import com.yashas.assignment.inventory.exception.DeadlineExceededException;
 import com.yashas.assignment.inventory.factory.AllocationStrategyFactory;
+import com.yashas.assignment.inventory.metrics.AllocationMetrics;
 import com.yashas.assignment.inventory.repository.BatchRepository;
 import com.yashas.assignment.inventory.repository.ProductRepository;
+import com.yashas.assignment.inventory.repository.StockDeductionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -25,7 +32,11 @@ public class InventoryService {
 
     private final ProductRepository productRepository;
     private final BatchRepository batchRepository;
+    private final StockDeductionRepository stockDeductionRepository;
     private final AllocationStrategyFactory allocationStrategyFactory;
+    private final AllocationMetrics allocationMetrics;
+
+    private static final String ORDER_ALLOCATION_STRATEGY = "EXPIRY";
 
     /**
      * POST /inventory/product - Add a new product
@@ -66,14 +77,41 @@ public class InventoryService {
         // Special case: if batchId is ORDER_REDUCTION, find the first available batch
         Batch targetBatch;
         List<Batch> availableBatches = List.of();
+        long allocationStarted = System.nanoTime();
+        int batchesScanned = 0;
         if ("ORDER_REDUCTION".equals(request.getBatchId())) {
-            // For orders, reduce from the first available batch (FIFO by expiry date)
-            availableBatches = batchRepository.findByProduct(product);
+            allocationMetrics.trackTransaction();
+            allocationMetrics.countProductRequest(request.getProductId());
+
+            // For orders, reduce from the first available batch (FIFO by expiry date),
+            // starting at today's expiry bucket so expired stock is never read. The batches stay
+            // locked until commit, so concurrent reductions of this product cannot oversell
+            long lockStarted = System.nanoTime();
+            availableBatches = batchRepository.findAllocatableBatches(product, LocalDate.now());
+            allocationMetrics.recordLockWait(System.nanoTime() - lockStarted);
+            // The caller may have given up while we waited for the lock; roll back instead of deducting
+            if (RequestDeadline.isExpired()) {
+                rejectAllocation(AllocationMetrics.OUTCOME_DEADLINE_EXCEEDED, allocationStarted, 0);
+                throw new DeadlineExceededException("Request deadline exceeded before stock was deducted");
+            }
+            if (request.getReference() != null) {
+                List<StockDeduction> previous = stockDeductionRepository.findByReference(request.getReference());
+                if (!previous.isEmpty()) {
+                    return replayDeduction(request.getReference(), previous);
+                }
+            }
+            batchesScanned = availableBatches.size();
             if (availableBatches.isEmpty()) {
+                rejectAllocation(AllocationMetrics.OUTCOME_NO_BATCHES, allocationStarted, batchesScanned);
                 throw new IllegalArgumentException("No batches available for product: " + request.getProductId());
             }
-            availableBatches = allocationStrategyFactory.getStrategy("EXPIRY")
+            availableBatches = allocationStrategyFactory.getStrategy(ORDER_ALLOCATION_STRATEGY)
                     .allocate(availableBatches, request.getQuantity());
+            if (availableBatches.isEmpty()) {
+                rejectAllocation(AllocationMetrics.OUTCOME_NO_BATCHES, allocationStarted, batchesScanned);
+                throw new IllegalArgumentException("No unexpired batches available for product: "
+                        + request.getProductId());
+            }
             targetBatch = availableBatches.get(0);
         } else {
             // Specific batch ID provided
@@ -85,6 +123,7 @@ public class InventoryService {
             long totalAvailable = availableBatches.stream().mapToLong(Batch::getQuantity).sum();
             long qtyToDeduct = request.getQuantity();
             if (qtyToDeduct > totalAvailable) {
+                rejectAllocation(AllocationMetrics.OUTCOME_INSUFFICIENT_STOCK, allocationStarted, batchesScanned);
                 throw new IllegalArgumentException("Insufficient total quantity. Available: "
                         + totalAvailable + ", Requested: " + qtyToDeduct);
             }
@@ -101,16 +140,21 @@ public class InventoryService {
                     batch.setQuantity(available - qtyToDeduct);
                     batchRepository.save(batch);
                     affected.add(convertToBatchDto(batch));
+                    recordDeduction(request.getReference(), batch, qtyToDeduct);
                     qtyToDeduct = 0;
                 } else {
                     // Consume entire batch and continue
                     batch.setQuantity(0L);
                     batchRepository.save(batch);
                     affected.add(convertToBatchDto(batch));
+                    recordDeduction(request.getReference(), batch, available);
                     qtyToDeduct -= available;
                 }
             }
 
+            allocationMetrics.recordAllocation(ORDER_ALLOCATION_STRATEGY, AllocationMetrics.OUTCOME_SUCCESS,
+                    System.nanoTime() - allocationStarted, batchesScanned, affected.size());
+            allocationMetrics.recordRowsWritten(affected.size());
             log.info("Order reduction completed. Batches affected: {}", affected.size());
 
             return affected.get(0);
@@ -132,21 +176,100 @@ public class InventoryService {
     }
 
 
+    /**
+     * POST /inventory/restore - Return the stock taken by a referenced order deduction
+     * Idempotent. Restoring a reference that was never deducted records a tombstone,
+     * so a deduction with that reference arriving late is refused instead of leaking stock.
+     */
+    @Transactional
+    public RestoreInventoryResultDto restoreInventory(RestoreInventoryDto request) {
+        log.info("Restoring inventory - Product: {}, Reference: {}", request.getProductId(), request.getReference());
+
+        Product product = productRepository.findByProductId(request.getProductId())
+                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + request.getProductId()));
+
+        // Take the same row locks as a deduction of this product, so a restore never interleaves with one,
+        // then lock the ledger's batches, which may since have expired or been retired
+        batchRepository.findAllocatableBatches(product, LocalDate.now());
+        batchRepository.lockDeductedBatches(request.getReference());
+
+        List<StockDeduction> deductions = stockDeductionRepository.findByReference(request.getReference());
+        if (deductions.isEmpty()) {
+            stockDeductionRepository.save(StockDeduction.builder()
+                    .reference(request.getReference())
+                    .quantity(0L)
+                    .restored(true)
+                    .build());
+            log.info("Nothing deducted for reference {}, recorded tombstone", request.getReference());
+            return RestoreInventoryResultDto.builder()
+                    .reference(request.getReference())
+                    .quantityRestored(0L)
+                    .build();
+        }
+
+        long restored = 0;
+        for (StockDeduction deduction : deductions) {
+            if (deduction.isRestored() || deduction.getBatch() == null) {
+                continue;
+            }
+            Batch batch = deduction.getBatch();
+            batch.setQuantity(batch.getQuantity() + deduction.getQuantity());
+            batchRepository.save(batch);
+            deduction.setRestored(true);
+            stockDeductionRepository.save(deduction);
+            restored += deduction.getQuantity();
+        }
+        log.info("Restored {} units for reference {}", restored, request.getReference());
+        return RestoreInventoryResultDto.builder()
+                .reference(request.getReference())
+                .quantityRestored(restored)
+                .build();
+    }
+
     /**
      * GET /inventory/{productId} - Returns list of inventory batches sorted by expiry date
      */
+    @Transactional(readOnly = true)
     public List<BatchDto> getBatchesByProductId(String productId) {
         log.info("Fetching batches for product: {}", productId);
 
-        Product product = productRepository.findByProductId(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
+        // Single projection query; the product lookup only runs when nothing came back
+        List<BatchDto> batches = batchRepository.findBatchDtosByProductId(productId);
+        if (batches.isEmpty() && !productRepository.existsByProductId(productId)) {
+            throw new IllegalArgumentException("Product not found: " + productId);
+        }
+        return batches;
+    }
+
+
+    /**
+     * A deduction with this reference was already applied: return its first batch without deducting again,
+     * or refuse it when the reference has since been restored
+     */
+    private BatchDto replayDeduction(String reference, List<StockDeduction> previous) {
+        boolean restored = previous.stream().anyMatch(StockDeduction::isRestored);
+        if (restored) {
+            throw new IllegalArgumentException("Deduction was already restored: " + reference);
+        }
+        log.info("Deduction {} already applied, not deducting again", reference);
+        return convertToBatchDto(previous.get(0).getBatch());
+    }
 
-        List<Batch> batches = batchRepository.findByProductOrderByExpiryDateAsc(product);
-        return batches.stream()
-                .map(this::convertToBatchDto)
-                .collect(Collectors.toList());
+    private void recordDeduction(String reference, Batch batch, long quantity) {
+        if (reference != null && quantity > 0) {
+            stockDeductionRepository.save(StockDeduction.builder()
+                    .reference(reference)
+                    .batch(batch)
+                    .quantity(quantity)
+                    .build());
+        }
     }
 
+    private void rejectAllocation(String outcome, long allocationStarted, int batchesScanned) {
+        allocationMetrics.recordRejection(outcome);
+        allocationMetrics.recordAllocation(ORDER_ALLOCATION_STRATEGY, outcome,
+                System.nanoTime() - allocationStarted, batchesScanned, 0);
+    }
 
     /**
      * Convert Product entity to DTO
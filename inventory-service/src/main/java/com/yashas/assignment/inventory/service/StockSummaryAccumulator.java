@@ -0,0 +1,55 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.dto.BatchStockRow;
+
+/**
+ * Primitive per-slice totals for the stock summary report.
+ * Each worker fills its own accumulator; results are combined with {@link #merge}.
+ */
+class StockSummaryAccumulator {
+
+    private final long todayEpochDay;
+
+    long totalBatches;
+    long unitsOnHand;
+    long expiredUnits;
+    long depletedBatches;
+    final long[] unitsExpiringPerWeek;
+
+    StockSummaryAccumulator(long todayEpochDay, int weeks) {
+        this.todayEpochDay = todayEpochDay;
+        this.unitsExpiringPerWeek = new long[weeks];
+    }
+
+    void add(BatchStockRow row) {
+        totalBatches++;
+        long quantity = row.getQuantity();
+        if (quantity == 0) {
+            depletedBatches++;
+            return;
+        }
+
+        long daysToExpiry = row.getExpiryDate().toEpochDay() - todayEpochDay;
+        if (row.isRetired() || daysToExpiry < 0) {
+            expiredUnits += quantity;
+            return;
+        }
+
+        unitsOnHand += quantity;
+        long week = daysToExpiry / 7;
+        if (week < unitsExpiringPerWeek.length) {
+            unitsExpiringPerWeek[(int) week] += quantity;
+        }
+    }
+
+    StockSummaryAccumulator merge(StockSummaryAccumulator other) {
+        totalBatches += other.totalBatches;
+        unitsOnHand += other.unitsOnHand;
+        expiredUnits += other.expiredUnits;
+        depletedBatches += other.depletedBatches;
+        for (int i = 0; i < unitsExpiringPerWeek.length; i++) {
+            unitsExpiringPerWeek[i] += other.unitsExpiringPerWeek[i];
+        }
+        return this;
+    }
+}
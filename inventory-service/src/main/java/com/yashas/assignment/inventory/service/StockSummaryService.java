@@ -0,0 +1,156 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.dto.BatchStockRow;
+import com.yashas.assignment.inventory.dto.StockSummaryDto;
+import com.yashas.assignment.inventory.dto.WeeklyExpiryDto;
+import com.yashas.assignment.inventory.repository.BatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Computes stock totals across all products and serves the last result from memory.
+ * The batches table is read once per refresh, split into id-range slices that are scanned
+ * in small read-only chunks on a dedicated fork/join pool, so OLTP requests never wait on it.
+ */
+@Service
+@Slf4j
+public class StockSummaryService {
+
+    private final BatchRepository batchRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int weeks;
+
+    private volatile StockSummaryDto cachedSummary;
+
+    public StockSummaryService(BatchRepository batchRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${inventory.summary.parallelism:4}") int parallelism,
+                               @Value("${inventory.summary.chunk-size:10000}") int chunkSize,
+                               @Value("${inventory.summary.weeks:12}") int weeks) {
+        this.batchRepository = batchRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.weeks = weeks;
+    }
+
+    /**
+     * GET /inventory/reports/summary - Returns the cached summary. Before the first refresh has finished,
+     * callers wait for it instead of starting scans of their own
+     */
+    public StockSummaryDto getSummary() {
+        StockSummaryDto summary = cachedSummary;
+        if (summary == null) {
+            synchronized (this) {
+                summary = cachedSummary;
+                if (summary == null) {
+                    summary = refresh();
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Recompute the summary. The first run starts as soon as the application is up, so the cache is
+     * warm before most callers arrive.
+     */
+    @Scheduled(fixedDelayString = "${inventory.summary.refresh-interval:PT5M}",
+            initialDelayString = "${inventory.summary.initial-delay:PT0S}")
+    public synchronized StockSummaryDto refresh() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        long minId = batchRepository.findMinId().orElse(0L);
+        long maxId = batchRepository.findMaxId().orElse(0L);
+        int slices = pool.getParallelism();
+        long sliceWidth = Math.max(1, (maxId - minId + slices) / slices);
+
+        StockSummaryAccumulator totals;
+        try {
+            totals = pool.submit(() -> LongStream.range(0, slices)
+                            .parallel()
+                            .mapToObj(slice -> scanSlice(
+                                    minId - 1 + slice * sliceWidth,
+                                    slice == slices - 1 ? maxId : minId - 1 + (slice + 1) * sliceWidth,
+                                    today))
+                            .reduce(StockSummaryAccumulator::merge)
+                            .orElseGet(() -> new StockSummaryAccumulator(today.toEpochDay(), weeks)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Stock summary computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Stock summary computation failed: " + e.getCause().getMessage(), e);
+        }
+
+        StockSummaryDto summary = toDto(totals, today);
+        cachedSummary = summary;
+        log.info("Stock summary refreshed. Batches: {}, took {} ms",
+                totals.totalBatches, (System.nanoTime() - started) / 1_000_000);
+        return summary;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Scan batches with afterId < id <= toId chunk by chunk, each chunk in its own short read-only transaction.
+     */
+    private StockSummaryAccumulator scanSlice(long afterId, long toId, LocalDate today) {
+        StockSummaryAccumulator acc = new StockSummaryAccumulator(today.toEpochDay(), weeks);
+        Pageable chunk = PageRequest.ofSize(chunkSize);
+        long cursor = afterId;
+        while (cursor < toId) {
+            long from = cursor;
+            List<BatchStockRow> rows = readOnlyTx.execute(status -> batchRepository.findStockRows(from, toId, chunk));
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            for (BatchStockRow row : rows) {
+                acc.add(row);
+            }
+            cursor = rows.get(rows.size() - 1).getId();
+        }
+        return acc;
+    }
+
+    private StockSummaryDto toDto(StockSummaryAccumulator totals, LocalDate today) {
+        List<WeeklyExpiryDto> perWeek = new ArrayList<>(weeks);
+        for (int i = 0; i < weeks; i++) {
+            perWeek.add(WeeklyExpiryDto.builder()
+                    .weekStart(today.plusWeeks(i))
+                    .units(totals.unitsExpiringPerWeek[i])
+                    .build());
+        }
+
+        return StockSummaryDto.builder()
+                .generatedAt(LocalDateTime.now())
+                .totalBatches(totals.totalBatches)
+                .unitsOnHand(totals.unitsOnHand)
+                .expiredUnits(totals.expiredUnits)
+                .depletedBatches(totals.depletedBatches)
+                .unitsExpiringPerWeek(perWeek)
+                .build();
+    }
+}
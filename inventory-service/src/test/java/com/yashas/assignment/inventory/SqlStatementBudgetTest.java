@@ -0,0 +1,138 @@
+package com.yashas.assignment.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yashas.assignment.inventory.dto.CreateProductDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
+import com.yashas.assignment.testsupport.SqlStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budgets per endpoint.
+ * Requests run outside a test transaction so every statement, including flushes at commit, is counted.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.yashas.assignment.testsupport.SqlStatementRecorder"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testGetBatchesBudget() throws Exception {
+        // Seeded product: one projection query
+        assertBudget("GET /inventory/{productId}", 1, get("/inventory/WHEAT-001"), status().isOk());
+
+        // Unknown product: projection plus existence check
+        assertBudget("GET /inventory/{productId} (not found)", 2, get("/inventory/NONEXISTENT"), status().isNotFound());
+    }
+
+    @Test
+    void testCreateProductBudget() throws Exception {
+        // Duplicate check plus insert
+        assertBudget("POST /inventory/product", 2, post("/inventory/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(CreateProductDto.builder()
+                        .productId("BUDGET-P001")
+                        .name("Budget product")
+                        .build())), status().isCreated());
+    }
+
+    @Test
+    void testAddBatchAndOrderReductionBudget() throws Exception {
+        createProduct("BUDGET-P002");
+        addBatch("BUDGET-P002", "BUDGET-B001", 100L, 3);
+        addBatch("BUDGET-P002", "BUDGET-B002", 100L, 6);
+
+        // Product lookup, locking batch read, one update per touched batch
+        assertBudget("POST /inventory/update (ORDER_REDUCTION, one batch)", 3, post("/inventory/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(UpdateInventoryDto.builder()
+                        .productId("BUDGET-P002")
+                        .batchId("ORDER_REDUCTION")
+                        .quantity(50L)
+                        .build())), status().isCreated());
+
+        assertBudget("POST /inventory/update (ORDER_REDUCTION, two batches)", 4, post("/inventory/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(UpdateInventoryDto.builder()
+                        .productId("BUDGET-P002")
+                        .batchId("ORDER_REDUCTION")
+                        .quantity(100L)
+                        .build())), status().isCreated());
+    }
+
+    @Test
+    void testExpiringReportBudget() throws Exception {
+        // One keyset page of products and one seek query per product page; the test data fits in one page
+        SqlStatementRecorder.start();
+        MvcResult pending = mockMvc.perform(get("/inventory/reports/expiring").param("days", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+        SqlStatementRecorder.assertWithinBudget("GET /inventory/reports/expiring", 2, SqlStatementRecorder.stop());
+    }
+
+    @Test
+    void testStockSummaryBudget() throws Exception {
+        mockMvc.perform(get("/inventory/reports/summary")).andExpect(status().isOk());
+
+        // Served from the cache once computed
+        assertBudget("GET /inventory/reports/summary (cached)", 0, get("/inventory/reports/summary"), status().isOk());
+    }
+
+    private void assertBudget(String endpoint, int maxStatements, MockHttpServletRequestBuilder request,
+                              ResultMatcher expectedStatus) throws Exception {
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            mockMvc.perform(request).andExpect(expectedStatus);
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        SqlStatementRecorder.assertWithinBudget(endpoint, maxStatements, statements);
+    }
+
+    private void createProduct(String productId) throws Exception {
+        mockMvc.perform(post("/inventory/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateProductDto.builder()
+                                .productId(productId)
+                                .name(productId)
+                                .build())))
+                .andExpect(status().isCreated());
+    }
+
+    private void addBatch(String productId, String batchId, Long quantity, int monthsToExpiry) throws Exception {
+        mockMvc.perform(post("/inventory/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateInventoryDto.builder()
+                                .productId(productId)
+                                .batchId(batchId)
+                                .quantity(quantity)
+                                .expiryDate(LocalDate.now().plusMonths(monthsToExpiry))
+                                .build())))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,79 @@
+package com.yashas.assignment.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Unix domain socket connector serves the same endpoints as the TCP port
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UnixDomainSocketTransportTest {
+
+    @TempDir
+    static Path socketDir;
+
+    @DynamicPropertySource
+    static void socketProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.server.unix-socket.path", () -> socketDir.resolve("inventory.sock").toString());
+    }
+
+    @Test
+    void testGetBatches_OverUnixDomainSocket() throws IOException {
+        // Arrange
+        Path socketPath = socketDir.resolve("inventory.sock");
+        assertTrue(Files.exists(socketPath));
+
+        // Act
+        String response = exchange(socketPath, "GET /inventory/WHEAT-001 HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: application/json\r\n"
+                + "Connection: close\r\n\r\n");
+
+        // Assert
+        assertTrue(response.startsWith("HTTP/1.1 200"), response);
+        assertTrue(response.contains("\"productId\":\"WHEAT-001\""), response);
+    }
+
+    @Test
+    void testRequestDeadline_AppliesOverUnixDomainSocket() throws IOException {
+        // Act
+        String response = exchange(socketDir.resolve("inventory.sock"), "GET /inventory/WHEAT-001 HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "X-Request-Deadline-Ms: 0\r\n"
+                + "Connection: close\r\n\r\n");
+
+        // Assert
+        assertTrue(response.startsWith("HTTP/1.1 504"), response);
+    }
+
+    private static String exchange(Path socketPath, String request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+            channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)));
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while (channel.read(buffer) != -1) {
+                response.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            return response.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,13 +2,17 @@ package com.yashas.assignment.inventory.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yashas.assignment.inventory.config.RequestDeadline;
+import com.yashas.assignment.inventory.config.RequestDeadlineInterceptor;
 import com.yashas.assignment.inventory.dto.BatchDto;
 import com.yashas.assignment.inventory.dto.CreateProductDto;
 import com.yashas.assignment.inventory.dto.ProductDto;
 import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
 import com.yashas.assignment.inventory.exception.GlobalExceptionHandler;
 import com.yashas.assignment.inventory.service.InventoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +29,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +38,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(MockitoExtension.class)
 class InventoryControllerTest {
 
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     private MockMvc mockMvc;
 
     @Mock
@@ -52,6 +59,8 @@ class InventoryControllerTest {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(inventoryController)
                 .setControllerAdvice(new GlobalExceptionHandler())
+                .addMappedInterceptors(new String[]{"/inventory/**"},
+                        new RequestDeadlineInterceptor(new SimpleMeterRegistry()))
                 .build();
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
@@ -96,7 +105,8 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].batchId", equalTo("WHEAT-B001")))
                 .andExpect(jsonPath("$[0].productId", equalTo("WHEAT-001")))
-                .andExpect(jsonPath("$[0].quantity", equalTo(1000)));
+                .andExpect(jsonPath("$[0].quantity", equalTo(1000)))
+                .andExpect(jsonPath("$[0].expiryDate", equalTo(batchDto.getExpiryDate().toString())));
 
         verify(inventoryService, times(1)).getBatchesByProductId("WHEAT-001");
     }
@@ -180,6 +190,31 @@ class InventoryControllerTest {
         verify(inventoryService, times(1)).updateInventory(any(UpdateInventoryDto.class));
     }
 
+    @Test
+    void testUpdateInventory_Smile() throws Exception {
+        // Arrange
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        smileMapper.registerModule(new JavaTimeModule());
+        when(inventoryService.updateInventory(any(UpdateInventoryDto.class))).thenReturn(batchDto);
+
+        // Act
+        byte[] response = mockMvc.perform(post("/inventory/update")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .content(smileMapper.writeValueAsBytes(updateInventoryDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        BatchDto result = smileMapper.readValue(response, BatchDto.class);
+        assertEquals("WHEAT-B001", result.getBatchId());
+        assertEquals(1000L, result.getQuantity());
+        assertEquals(batchDto.getExpiryDate(), result.getExpiryDate());
+        verify(inventoryService, times(1)).updateInventory(argThat(update ->
+                "WHEAT-001".equals(update.getProductId()) && update.getQuantity() == 100L));
+    }
+
     @Test
     void testUpdateInventory_ReduceQuantity_Success() throws Exception {
         // Arrange
@@ -251,5 +286,43 @@ class InventoryControllerTest {
 
         verify(inventoryService, times(1)).updateInventory(any(UpdateInventoryDto.class));
     }
-}
 
+    @Test
+    void testUpdateInventory_CallerDeadlinePassed() throws Exception {
+        // Act & Assert - The order service gave up before the request arrived
+        mockMvc.perform(post("/inventory/update")
+                .header(RequestDeadline.HEADER, "0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateInventoryDto)))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(inventoryService, never()).updateInventory(any(UpdateInventoryDto.class));
+    }
+
+    @Test
+    void testUpdateInventory_RunsWithinCallerDeadline() throws Exception {
+        // Arrange
+        when(inventoryService.updateInventory(any(UpdateInventoryDto.class))).thenAnswer(invocation -> {
+            RequestDeadline.check();
+            return batchDto;
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/inventory/update")
+                .header(RequestDeadline.HEADER, "5000")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateInventoryDto)))
+                .andExpect(status().isCreated());
+
+        verify(inventoryService, times(1)).updateInventory(any(UpdateInventoryDto.class));
+    }
+
+    @Test
+    void testGetExpiringBatches_DaysOutOfRange() throws Exception {
+        // Act & Assert - A window past the limit would overflow the report's date range
+        mockMvc.perform(get("/inventory/reports/expiring").param("days", "1000000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/inventory/reports/expiring").param("days", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
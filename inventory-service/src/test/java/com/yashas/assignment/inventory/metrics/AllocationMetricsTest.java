@@ -0,0 +1,75 @@
+package com.yashas.assignment.inventory.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testCountProductRequest_ProductThatTurnsHotLaterGetsItsOwnTag() {
+        // Arrange - Two tags, taken by the first products seen
+        AllocationMetrics metrics = new AllocationMetrics(registry, 2);
+        metrics.countProductRequest("WHEAT-001");
+        metrics.countProductRequest("RICE-001");
+        metrics.countProductRequest("CORN-001");
+        assertEquals(1.0, requests("other"));
+
+        // Act - CORN-001 and RICE-001 are the busiest products of the interval
+        for (int i = 0; i < 5; i++) {
+            metrics.countProductRequest("CORN-001");
+            metrics.countProductRequest("RICE-001");
+        }
+        metrics.countProductRequest("WHEAT-001");
+        metrics.reselectProductTags();
+        metrics.countProductRequest("CORN-001");
+        metrics.countProductRequest("WHEAT-001");
+
+        // Assert - CORN-001 is tagged now, WHEAT-001's series is gone
+        assertEquals(1.0, requests("CORN-001"));
+        assertEquals(6.0, requests("RICE-001"));
+        assertNull(registry.find("inventory.allocation.requests").tag("product", "WHEAT-001").counter());
+        assertEquals(7.0, requests("other"));
+    }
+
+    @Test
+    void testCountProductRequest_ConcurrentNewProductsNeverExceedTheCap() throws Exception {
+        // Arrange
+        AllocationMetrics metrics = new AllocationMetrics(registry, 10);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act - 8 threads each requesting the same 50 new products
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                done.add(CompletableFuture.runAsync(() -> {
+                    for (int product = 0; product < 50; product++) {
+                        metrics.countProductRequest("PRODUCT-" + product);
+                    }
+                }, callers));
+            }
+            CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).join();
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // Assert - Ten product series plus "other", and every request counted once
+        var counters = registry.find("inventory.allocation.requests").counters();
+        assertEquals(11, counters.size());
+        assertEquals(400.0, counters.stream().mapToDouble(counter -> counter.count()).sum());
+    }
+
+    private double requests(String product) {
+        return registry.counter("inventory.allocation.requests", "product", product).count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.dto.BatchDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
+import com.yashas.assignment.inventory.dto.UpdateInventoryResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryBatchUpdateServiceTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private InventoryBatchUpdateService batchUpdateService;
+
+    @AfterEach
+    void tearDown() {
+        batchUpdateService.shutdown();
+    }
+
+    @Test
+    void testUpdateInventory_ProductsDoNotWaitBehindEachOther() {
+        // Arrange - WHEAT-001's first entry waits on a lock until RICE-001 has been applied
+        batchUpdateService = new InventoryBatchUpdateService(inventoryService, 500, 4);
+        CountDownLatch riceApplied = new CountDownLatch(1);
+        when(inventoryService.updateInventory(any(UpdateInventoryDto.class))).thenAnswer(invocation -> {
+            UpdateInventoryDto update = invocation.getArgument(0);
+            if ("WHEAT-001".equals(update.getProductId())) {
+                assertTrue(riceApplied.await(5, TimeUnit.SECONDS), "RICE-001 waited behind WHEAT-001");
+            } else {
+                riceApplied.countDown();
+            }
+            return BatchDto.builder().productId(update.getProductId()).build();
+        });
+
+        // Act
+        List<UpdateInventoryResultDto> results = batchUpdateService.updateInventory(List.of(
+                deduction("WHEAT-001", 10L), deduction("WHEAT-001", 20L), deduction("RICE-001", 5L)));
+
+        // Assert - Every entry applied, results in request order
+        assertTrue(results.stream().allMatch(UpdateInventoryResultDto::isSuccess));
+        assertEquals(List.of("WHEAT-001", "WHEAT-001", "RICE-001"),
+                results.stream().map(result -> result.getBatch().getProductId()).toList());
+    }
+
+    @Test
+    void testUpdateInventory_EntriesOfOneProductApplyInRequestOrder() {
+        // Arrange
+        batchUpdateService = new InventoryBatchUpdateService(inventoryService, 500, 4);
+        when(inventoryService.updateInventory(any(UpdateInventoryDto.class)))
+                .thenAnswer(invocation -> BatchDto.builder().build());
+
+        // Act
+        batchUpdateService.updateInventory(List.of(deduction("WHEAT-001", 1L), deduction("WHEAT-001", 2L),
+                deduction("WHEAT-001", 3L)));
+
+        // Assert
+        var inOrder = inOrder(inventoryService);
+        inOrder.verify(inventoryService).updateInventory(argThat(update -> update.getQuantity() == 1L));
+        inOrder.verify(inventoryService).updateInventory(argThat(update -> update.getQuantity() == 2L));
+        inOrder.verify(inventoryService).updateInventory(argThat(update -> update.getQuantity() == 3L));
+    }
+
+    @Test
+    void testUpdateInventory_EachEntryIsBoundedByItsOwnBudget() {
+        // Arrange - The first entry takes 100ms, outlasting the second entry's budget but not the third's
+        batchUpdateService = new InventoryBatchUpdateService(inventoryService, 500, 4);
+        when(inventoryService.updateInventory(any(UpdateInventoryDto.class))).thenAnswer(invocation -> {
+            UpdateInventoryDto update = invocation.getArgument(0);
+            if (update.getQuantity() == 1L) {
+                Thread.sleep(100);
+            }
+            return BatchDto.builder().productId(update.getProductId()).build();
+        });
+        UpdateInventoryDto slow = deduction("WHEAT-001", 1L);
+        UpdateInventoryDto abandoned = deduction("WHEAT-001", 2L);
+        abandoned.setBudgetMillis(20L);
+        UpdateInventoryDto waiting = deduction("WHEAT-001", 3L);
+        waiting.setBudgetMillis(5000L);
+
+        // Act
+        List<UpdateInventoryResultDto> results = batchUpdateService.updateInventory(List.of(slow, abandoned, waiting));
+
+        // Assert - Only the entry whose caller gave up is skipped
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Request deadline exceeded", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        verify(inventoryService, never()).updateInventory(argThat(update -> update.getQuantity() == 2L));
+    }
+
+    private static UpdateInventoryDto deduction(String productId, Long quantity) {
+        return UpdateInventoryDto.builder()
+                .productId(productId)
+                .batchId("ORDER_REDUCTION")
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package com.yashas.assignment.inventory.service;
 
+import com.yashas.assignment.inventory.config.RequestDeadline;
 import com.yashas.assignment.inventory.dto.BatchDto;
 import com.yashas.assignment.inventory.dto.CreateProductDto;
 import com.yashas.assignment.inventory.dto.ProductDto;
 import com.yashas.assignment.inventory.dto.UpdateInventoryDto;
 import com.yashas.assignment.inventory.entity.Batch;
 import com.yashas.assignment.inventory.entity.Product;
+import com.yashas.assignment.inventory.exception.DeadlineExceededException;
 import com.yashas.assignment.inventory.factory.AllocationStrategyFactory;
 import com.yashas.assignment.inventory.factory.ExpiryDateStrategy;
+import com.yashas.assignment.inventory.metrics.AllocationMetrics;
 import com.yashas.assignment.inventory.repository.BatchRepository;
 import com.yashas.assignment.inventory.repository.ProductRepository;
+import com.yashas.assignment.inventory.repository.StockDeductionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +30,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,12 +42,18 @@ class InventoryServiceTest {
     @Mock
     private BatchRepository batchRepository;
 
+    @Mock
+    private StockDeductionRepository stockDeductionRepository;
+
     @Mock
     private AllocationStrategyFactory allocationStrategyFactory;
 
     @Mock
     private ExpiryDateStrategy expiryDateStrategy;
 
+    @Mock
+    private AllocationMetrics allocationMetrics;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -175,18 +186,11 @@ class InventoryServiceTest {
     @Test
     void testGetBatchesByProductId_Success() {
         // Arrange
-        Batch batch2 = Batch.builder()
-                .id(2L)
-                .batchId("WHEAT-B002")
-                .product(testProduct)
-                .quantity(500L)
-                .expiryDate(LocalDate.now().plusMonths(9))
-                .build();
-
-        List<Batch> batches = Arrays.asList(testBatch, batch2);
+        List<BatchDto> batches = Arrays.asList(
+                new BatchDto(1L, "WHEAT-B001", "WHEAT-001", 1000L, LocalDate.now().plusMonths(6)),
+                new BatchDto(2L, "WHEAT-B002", "WHEAT-001", 500L, LocalDate.now().plusMonths(9)));
 
-        when(productRepository.findByProductId("WHEAT-001")).thenReturn(Optional.of(testProduct));
-        when(batchRepository.findByProductOrderByExpiryDateAsc(testProduct)).thenReturn(batches);
+        when(batchRepository.findBatchDtosByProductId("WHEAT-001")).thenReturn(batches);
 
         // Act
         List<BatchDto> result = inventoryService.getBatchesByProductId("WHEAT-001");
@@ -196,13 +200,15 @@ class InventoryServiceTest {
         assertEquals(2, result.size());
         assertEquals("WHEAT-B001", result.get(0).getBatchId());
         assertEquals("WHEAT-B002", result.get(1).getBatchId());
-        verify(batchRepository, times(1)).findByProductOrderByExpiryDateAsc(testProduct);
+        verify(batchRepository, times(1)).findBatchDtosByProductId("WHEAT-001");
+        verify(productRepository, never()).existsByProductId(anyString());
     }
 
     @Test
     void testGetBatchesByProductId_ProductNotFound() {
         // Arrange
-        when(productRepository.findByProductId("WHEAT-001")).thenReturn(Optional.empty());
+        when(batchRepository.findBatchDtosByProductId("WHEAT-001")).thenReturn(List.of());
+        when(productRepository.existsByProductId("WHEAT-001")).thenReturn(false);
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
@@ -236,7 +242,8 @@ class InventoryServiceTest {
                 .build();
 
         when(productRepository.findByProductId("WHEAT-001")).thenReturn(Optional.of(testProduct));
-        when(batchRepository.findByProduct(testProduct)).thenReturn(Arrays.asList(fifoBatch));
+        when(batchRepository.findAllocatableBatches(eq(testProduct), any(LocalDate.class)))
+                .thenReturn(Arrays.asList(fifoBatch));
         when(batchRepository.save(any(Batch.class))).thenReturn(reducedBatch);
         when(allocationStrategyFactory.getStrategy(anyString())).thenReturn(expiryDateStrategy);
         when(expiryDateStrategy.allocate(anyList(), anyLong())).thenReturn(Arrays.asList(fifoBatch));
@@ -247,7 +254,33 @@ class InventoryServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(900L, result.getQuantity());
-        verify(batchRepository, times(1)).findByProduct(testProduct);
+        verify(batchRepository, times(1)).findAllocatableBatches(eq(testProduct), eq(LocalDate.now()));
+        verify(allocationMetrics, times(1)).recordAllocation(eq("EXPIRY"), eq(AllocationMetrics.OUTCOME_SUCCESS),
+                anyLong(), eq(1), eq(1));
     }
-}
 
+    @Test
+    void testUpdateInventory_OrderReduction_DeadlinePassedWhileLocking() throws Exception {
+        // Arrange - The caller's budget runs out while the batches are being locked
+        UpdateInventoryDto orderReductionDto = UpdateInventoryDto.builder()
+                .productId("WHEAT-001")
+                .batchId("ORDER_REDUCTION")
+                .quantity(100L)
+                .build();
+        when(productRepository.findByProductId("WHEAT-001")).thenReturn(Optional.of(testProduct));
+        when(batchRepository.findAllocatableBatches(eq(testProduct), any(LocalDate.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return List.of(testBatch);
+        });
+        RequestDeadline.start(5);
+
+        // Act & Assert
+        try {
+            assertThrows(DeadlineExceededException.class, () -> inventoryService.updateInventory(orderReductionDto));
+        } finally {
+            RequestDeadline.clear();
+        }
+        verify(batchRepository, never()).save(any(Batch.class));
+        verify(allocationMetrics).recordRejection(AllocationMetrics.OUTCOME_DEADLINE_EXCEEDED);
+    }
+}
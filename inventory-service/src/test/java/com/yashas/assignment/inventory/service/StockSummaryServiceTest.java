@@ -0,0 +1,88 @@
+package com.yashas.assignment.inventory.service;
+
+import com.yashas.assignment.inventory.dto.StockSummaryDto;
+import com.yashas.assignment.inventory.repository.BatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockSummaryServiceTest {
+
+    @Mock
+    private BatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockSummaryService stockSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        stockSummaryService = new StockSummaryService(batchRepository, transactionManager, 2, 100, 12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockSummaryService.shutdown();
+    }
+
+    @Test
+    void testGetSummary_ConcurrentColdCallersShareOneScan() throws Exception {
+        // Arrange - An empty table whose scan takes a while
+        when(batchRepository.findMinId()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.empty();
+        });
+        when(batchRepository.findMaxId()).thenReturn(Optional.empty());
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<StockSummaryDto>> summaries = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                summaries.add(callers.submit(stockSummaryService::getSummary));
+            }
+            StockSummaryDto first = summaries.get(0).get(5, TimeUnit.SECONDS);
+
+            // Assert - Every caller got the one computed summary
+            for (Future<StockSummaryDto> summary : summaries) {
+                assertSame(first, summary.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(batchRepository, times(1)).findMinId();
+    }
+
+    @Test
+    void testRefresh_RecomputesEvenWhenCached() {
+        // Arrange
+        when(batchRepository.findMinId()).thenReturn(Optional.empty());
+        when(batchRepository.findMaxId()).thenReturn(Optional.empty());
+        StockSummaryDto cached = stockSummaryService.getSummary();
+
+        // Act
+        StockSummaryDto refreshed = stockSummaryService.refresh();
+
+        // Assert
+        assertNotSame(cached, refreshed);
+        assertSame(refreshed, stockSummaryService.getSummary());
+        verify(batchRepository, times(2)).findMinId();
+    }
+}
@@ -0,0 +1,113 @@
+package com.yashas.assignment.order.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yashas.assignment.order.dto.InventoryBatchUpdateDto;
+import com.yashas.assignment.order.dto.InventoryUpdateDto;
+import com.yashas.assignment.order.dto.InventoryUpdateResultDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization CPU of order-to-inventory payloads in JSON, CBOR and Smile, using the same mapper
+ * configuration as the RestTemplate converters. Payload sizes are printed once per trial.
+ * Smile wins on both counts because it sends each repeated property name once per payload.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    /** Entries per batch: a single-line order, and a full deduction batch */
+    @Param({"1", "50"})
+    public int entries;
+
+    private ObjectMapper mapper;
+    private InventoryBatchUpdateDto batchUpdate;
+    private byte[] batchResultsBody;
+    private byte[] batchListBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<InventoryUpdateDto> updates = new ArrayList<>(entries);
+        List<Map<String, Object>> results = new ArrayList<>(entries);
+        List<Map<String, Object>> batches = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            String productId = "PRODUCT-" + (1000 + i);
+            updates.add(InventoryUpdateDto.builder()
+                    .productId(productId)
+                    .batchId("ORDER_REDUCTION")
+                    .quantity(1L + i % 20)
+                    .reference("ORD-" + Integer.toHexString(0x5D6768A0 + i).toUpperCase() + "-" + i % 4)
+                    .build());
+            Map<String, Object> batch = batch(i, productId);
+            results.add(Map.of("success", true, "batch", batch));
+            batches.add(batch);
+        }
+        batchUpdate = InventoryBatchUpdateDto.builder().updates(updates).build();
+        // Response bodies as the Inventory Service writes them
+        batchResultsBody = mapper.writeValueAsBytes(results);
+        batchListBody = mapper.writeValueAsBytes(batches);
+
+        System.out.printf("%n%s, %d entries: batch update request %d bytes, batch results %d bytes, batch list %d bytes%n",
+                format, entries, mapper.writeValueAsBytes(batchUpdate).length, batchResultsBody.length, batchListBody.length);
+    }
+
+    /** Request body of POST /inventory/update/batch */
+    @Benchmark
+    public byte[] encodeBatchUpdate() throws Exception {
+        return mapper.writeValueAsBytes(batchUpdate);
+    }
+
+    /** Response body of POST /inventory/update/batch */
+    @Benchmark
+    public InventoryUpdateResultDto[] decodeBatchResults() throws Exception {
+        return mapper.readValue(batchResultsBody, InventoryUpdateResultDto[].class);
+    }
+
+    /** Response body of GET /inventory/{productId}, read the way the availability check reads it */
+    @Benchmark
+    public Object decodeBatchList() throws Exception {
+        return mapper.readValue(batchListBody, Object.class);
+    }
+
+    private static Map<String, Object> batch(int i, String productId) {
+        Map<String, Object> batch = new LinkedHashMap<>();
+        batch.put("id", 10_000L + i);
+        batch.put("batchId", productId + "-B" + (i % 7));
+        batch.put("productId", productId);
+        batch.put("quantity", 500L + i * 13L);
+        batch.put("expiryDate", LocalDate.of(2026, 11, 1).plusDays(i).toString());
+        return batch;
+    }
+}
@@ -0,0 +1,113 @@
+package com.yashas.assignment.order.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.yashas.assignment.order.dto.OrderItemDto;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.entity.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing GET /api/order/{orderId} and customer history bodies with the reflective
+ * serializers the application used before, and with the Blackbird module it now registers.
+ * Add {@code -prof gc} to the arguments for allocation per response ({@code gc.alloc.rate.norm}).
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ResponseSerializationBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    public String accessors;
+
+    /** Lines per order */
+    @Param({"1", "20"})
+    public int items;
+
+    private ObjectMapper mapper;
+    /** Stands in for the servlet response buffer, which MVC's converter writes into */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+    private OrderResponseDto order;
+    private List<OrderResponseDto> historyPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("blackbird".equals(accessors)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        mapper = builder.build();
+
+        historyPage = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            historyPage.add(order(i));
+        }
+        order = historyPage.get(0);
+
+        // Both configurations must write the same bytes
+        byte[] reflective = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(historyPage);
+        if (!Arrays.equals(reflective, mapper.writeValueAsBytes(historyPage))) {
+            throw new IllegalStateException(accessors + " output differs from the reflective serializers");
+        }
+    }
+
+    /** Body of GET /api/order/{orderId} */
+    @Benchmark
+    public int writeOrder() throws Exception {
+        out.reset();
+        mapper.writeValue(out, order);
+        return out.size();
+    }
+
+    /** Body of GET /api/order/customer/{customerId}, one full page */
+    @Benchmark
+    public int writeHistoryPage() throws Exception {
+        out.reset();
+        mapper.writeValue(out, historyPage);
+        return out.size();
+    }
+
+    private OrderResponseDto order(int i) {
+        List<OrderItemDto> orderItems = new ArrayList<>(items);
+        for (int line = 0; line < items; line++) {
+            orderItems.add(OrderItemDto.builder()
+                    .id(100_000L + i * items + line)
+                    .productId("PRODUCT-" + (1000 + line))
+                    .quantity(1L + line % 20)
+                    .build());
+        }
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 9, 30).plusMinutes(i * 7L).plusNanos(123_456_000L);
+        return OrderResponseDto.builder()
+                .id(10_000L + i)
+                .orderId("ORD-0A95PSNTR" + String.format("%04d", i))
+                .customerId("CUST-001")
+                .status(OrderStatus.CONFIRMED)
+                .orderItems(orderItems)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(1))
+                .build();
+    }
+}
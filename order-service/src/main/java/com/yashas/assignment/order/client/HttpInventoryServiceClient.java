@@ -0,0 +1,231 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.dto.InventoryBatchUpdateDto;
+import com.yashas.assignment.order.dto.InventoryRestoreDto;
+import com.yashas.assignment.order.dto.InventoryUpdateDto;
+import com.yashas.assignment.order.dto.InventoryUpdateResultDto;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client for communicating with the Inventory Service.
+ * Handles inter-service communication via REST API; the default {@code inventory.client.mode}.
+ * With batching enabled, deductions from concurrent orders are coalesced into
+ * {@code POST /inventory/update/batch} requests by an {@link InventoryDeductionBatcher}.
+ * Every request passes through the {@code inventory} bulkhead and circuit breaker; calls refused
+ * by either fail immediately with an {@link InventoryUnavailableException}.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.client.mode", havingValue = "http", matchIfMissing = true)
+@Slf4j
+public class HttpInventoryServiceClient implements InventoryServiceClient {
+
+    static final String RESILIENCE_INSTANCE = "inventory";
+
+    private final RestTemplate restTemplate;
+    private final String inventoryServiceUrl;
+    private final InventoryDeductionBatcher deductionBatcher;
+    private final long batchAwaitTimeoutNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    public HttpInventoryServiceClient(RestTemplate restTemplate,
+                                      @Value("${inventory.service.url:http://localhost:8081}") String inventoryServiceUrl,
+                                      @Qualifier("inventoryBatchExecutor") ExecutorService inventoryBatchExecutor,
+                                      MeterRegistry meterRegistry,
+                                      CircuitBreakerRegistry circuitBreakerRegistry,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      @Value("${inventory.client.batch.enabled:true}") boolean batchEnabled,
+                                      @Value("${inventory.client.batch.max-size:50}") int batchMaxSize,
+                                      @Value("${inventory.client.batch.linger:PT0.0005S}") Duration batchLinger,
+                                      @Value("${inventory.client.batch.await-timeout:PT5S}") Duration batchAwaitTimeout) {
+        this.restTemplate = restTemplate;
+        this.inventoryServiceUrl = inventoryServiceUrl;
+        this.batchAwaitTimeoutNanos = batchAwaitTimeout.toNanos();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit_open");
+        this.bulkheadFullRejections = rejectionCounter(meterRegistry, "bulkhead_full");
+        if (batchEnabled) {
+            DistributionSummary batchSizes = DistributionSummary.builder("order.inventory.batch.size")
+                    .description("Deductions sent per POST /inventory/update/batch request")
+                    .register(meterRegistry);
+            this.deductionBatcher = new InventoryDeductionBatcher(this::sendDeductionBatch, inventoryBatchExecutor,
+                    batchSizes, batchMaxSize, batchLinger);
+        } else {
+            this.deductionBatcher = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (deductionBatcher != null) {
+            deductionBatcher.close();
+        }
+    }
+
+    /**
+     * Call the Inventory Service to update inventory after order placement
+     * Reduces the quantity from the first available batch. The reference identifies the deduction,
+     * so a retried deduction is applied once and it can later be restored.
+     */
+    @Override
+    public void updateInventory(String productId, Long quantityToReduce, String reference) {
+        log.info("Calling Inventory Service to reduce inventory for product: {} by quantity: {}",
+                productId, quantityToReduce);
+
+        // For order-based inventory reduction, we'll use a placeholder batch ID
+        // The inventory service will reduce from the first available batch
+        InventoryUpdateDto updateDto = InventoryUpdateDto.builder()
+                .productId(productId)
+                .batchId("ORDER_REDUCTION")  // Placeholder - actual batch will be determined by inventory service
+                .quantity(quantityToReduce)
+                .reference(reference)
+                .build();
+
+        if (deductionBatcher != null) {
+            awaitBatchedDeduction(updateDto);
+            log.info("Inventory updated successfully for product: {}", productId);
+            return;
+        }
+
+        try {
+            String url = inventoryServiceUrl + "/inventory/update";
+            guarded(() -> restTemplate.postForObject(url, updateDto, Void.class));
+            log.info("Inventory updated successfully for product: {}", productId);
+        } catch (RestClientException e) {
+            log.error("Failed to update inventory for product: {}", productId, e);
+            throw new RuntimeException("Failed to communicate with Inventory Service: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Call the Inventory Service to return the stock taken by the deduction with this reference.
+     * Safe to repeat, and safe to call for a deduction that never arrived.
+     */
+    @Override
+    public void restoreInventory(String productId, String reference) {
+        log.info("Calling Inventory Service to restore deduction {} of product: {}", reference, productId);
+
+        try {
+            String url = inventoryServiceUrl + "/inventory/restore";
+            InventoryRestoreDto restoreDto = InventoryRestoreDto.builder()
+                    .productId(productId)
+                    .reference(reference)
+                    .build();
+            guarded(() -> restTemplate.postForObject(url, restoreDto, Void.class));
+            log.info("Inventory restored for deduction: {}", reference);
+        } catch (RestClientException e) {
+            log.error("Failed to restore deduction {} of product: {}", reference, productId, e);
+            throw new RuntimeException("Failed to communicate with Inventory Service: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check if product exists and has sufficient inventory.
+     * A 4xx answer means it does not; an unreachable or failing Inventory Service is an
+     * {@link InventoryUnavailableException} rather than a missing product.
+     */
+    @Override
+    public boolean checkInventoryAvailability(String productId) {
+        log.info("Checking inventory availability for product: {}", productId);
+
+        try {
+            String url = inventoryServiceUrl + "/inventory/" + productId;
+            guarded(() -> restTemplate.getForObject(url, Object.class));
+            log.info("Product: {} has available inventory", productId);
+            return true;
+        } catch (HttpClientErrorException e) {
+            log.warn("Failed to check inventory for product: {} - {}", productId, e.getMessage());
+            return false;
+        } catch (RestClientException e) {
+            log.error("Inventory Service unavailable while checking product: {} - {}", productId, e.getMessage());
+            throw new InventoryUnavailableException("Inventory Service unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    private void awaitBatchedDeduction(InventoryUpdateDto updateDto) {
+        try {
+            deductionBatcher.submit(updateDto).get(batchAwaitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InventoryUnavailableException
+                    || e.getCause() instanceof DeadlineExceededException) {
+                throw (RuntimeException) e.getCause();
+            }
+            log.error("Failed to update inventory for product: {}", updateDto.getProductId(), e.getCause());
+            throw new RuntimeException("Failed to communicate with Inventory Service: "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Timed out waiting for inventory update of product: {}", updateDto.getProductId());
+            throw new RuntimeException("Timed out waiting for Inventory Service", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Inventory Service", e);
+        }
+    }
+
+    private List<InventoryUpdateResultDto> sendDeductionBatch(List<InventoryUpdateDto> updates) {
+        String url = inventoryServiceUrl + "/inventory/update/batch";
+        InventoryUpdateResultDto[] results = guarded(() -> restTemplate.postForObject(url,
+                InventoryBatchUpdateDto.builder().updates(updates).build(), InventoryUpdateResultDto[].class));
+        return results == null ? null : Arrays.asList(results);
+    }
+
+    /**
+     * Run one Inventory Service request inside the bulkhead and circuit breaker.
+     * The bulkhead is outermost, so a call refused for lack of a local slot never reaches the circuit breaker
+     * and is not counted against the Inventory Service's health.
+     * Client errors (4xx) are answers, not failures, and are ignored by the circuit breaker.
+     * Nothing is sent once the request's deadline has passed.
+     */
+    private <T> T guarded(Supplier<T> request) {
+        RequestDeadline.check();
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, () -> circuitBreaker.executeSupplier(request)).get();
+        } catch (CallNotPermittedException e) {
+            circuitOpenRejections.increment();
+            log.warn("Inventory Service circuit breaker is {}, failing fast", circuitBreaker.getState());
+            throw new InventoryUnavailableException("Inventory Service circuit breaker is open", e);
+        } catch (BulkheadFullException e) {
+            bulkheadFullRejections.increment();
+            log.warn("Inventory Service bulkhead is full, failing fast");
+            throw new InventoryUnavailableException("Too many concurrent Inventory Service calls", e);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("order.inventory.calls.rejected")
+                .description("Inventory Service calls refused locally without being sent")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
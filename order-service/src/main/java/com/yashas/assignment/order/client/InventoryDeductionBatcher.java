@@ -0,0 +1,197 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.dto.InventoryUpdateDto;
+import com.yashas.assignment.order.dto.InventoryUpdateResultDto;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces inventory deductions submitted concurrently by different orders into multi-entry requests.
+ * A single flusher thread collects pending deductions and sends them as one batch once
+ * {@code maxBatchSize} entries are waiting or {@code linger} has passed since the first one arrived.
+ * Batches are sent on the dispatch executor, and each entry's result completes its caller's future.
+ * The flusher never sends itself: a batch the dispatch executor refuses fails its entries with
+ * {@link InventoryUnavailableException}, and coalescing carries on.
+ * Entries keep their caller's {@link RequestDeadline}: expired entries are dropped before sending,
+ * and each entry carries its caller's remaining budget, which the Inventory Service checks before applying it.
+ * The batch request itself is sent under the latest deadline of its entries.
+ */
+@Slf4j
+class InventoryDeductionBatcher implements AutoCloseable {
+
+    private final Function<List<InventoryUpdateDto>, List<InventoryUpdateResultDto>> sender;
+    private final Executor dispatchExecutor;
+    private final DistributionSummary batchSizes;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingDeduction> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    InventoryDeductionBatcher(Function<List<InventoryUpdateDto>, List<InventoryUpdateResultDto>> sender,
+                              Executor dispatchExecutor,
+                              DistributionSummary batchSizes,
+                              int maxBatchSize,
+                              Duration linger) {
+        this.sender = sender;
+        this.dispatchExecutor = dispatchExecutor;
+        this.batchSizes = batchSizes;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.flusher = new Thread(this::flushLoop, "inventory-deduction-batcher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue a deduction for the next batch. The future fails with IllegalStateException
+     * when the Inventory Service rejects the entry, or with the transport error of the whole batch.
+     */
+    CompletableFuture<Void> submit(InventoryUpdateDto update) {
+        if (!running) {
+            throw new IllegalStateException("Inventory deduction batcher is shut down");
+        }
+        PendingDeduction pending = new PendingDeduction(update, RequestDeadline.current(), new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    /**
+     * Stop accepting deductions and flush whatever is still queued.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDeduction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingDeduction> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long flushAt = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = flushAt - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingDeduction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void dispatch(List<PendingDeduction> batch) {
+        try {
+            dispatchExecutor.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            log.error("Inventory deduction batch of {} entries rejected by dispatch executor", batch.size());
+            InventoryUnavailableException failure =
+                    new InventoryUnavailableException("Too many inventory deduction batches in flight", e);
+            for (PendingDeduction pending : batch) {
+                pending.result().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void send(List<PendingDeduction> queued) {
+        List<PendingDeduction> batch = withoutExpired(queued);
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+        try {
+            List<InventoryUpdateDto> updates = new ArrayList<>(batch.size());
+            long now = System.nanoTime();
+            for (PendingDeduction pending : batch) {
+                InventoryUpdateDto update = pending.update();
+                update.setBudgetMillis(pending.deadline() == null ? null
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(pending.deadline() - now)));
+                updates.add(update);
+            }
+            List<InventoryUpdateResultDto> results = RequestDeadline.supplyWithin(latestDeadline(batch),
+                    () -> sender.apply(updates));
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Inventory Service returned "
+                        + (results == null ? 0 : results.size()) + " results for " + batch.size() + " updates");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                InventoryUpdateResultDto result = results.get(i);
+                if (result.isSuccess()) {
+                    batch.get(i).result().complete(null);
+                } else {
+                    batch.get(i).result().completeExceptionally(new IllegalStateException(result.getError()));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (PendingDeduction pending : batch) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<PendingDeduction> withoutExpired(List<PendingDeduction> queued) {
+        List<PendingDeduction> live = new ArrayList<>(queued.size());
+        long now = System.nanoTime();
+        for (PendingDeduction pending : queued) {
+            if (pending.deadline() != null && pending.deadline() - now <= 0) {
+                pending.result().completeExceptionally(
+                        new DeadlineExceededException("Request deadline exceeded before the deduction was sent"));
+            } else {
+                live.add(pending);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * The latest deadline of the batch, or null when any entry is unbounded
+     */
+    private static Long latestDeadline(List<PendingDeduction> batch) {
+        Long latest = null;
+        for (PendingDeduction pending : batch) {
+            if (pending.deadline() == null) {
+                return null;
+            }
+            if (latest == null || pending.deadline() - latest > 0) {
+                latest = pending.deadline();
+            }
+        }
+        return latest;
+    }
+
+    private record PendingDeduction(InventoryUpdateDto update, Long deadline, CompletableFuture<Void> result) {
+    }
+}
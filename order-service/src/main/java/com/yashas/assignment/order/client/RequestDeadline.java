@@ -0,0 +1,97 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request the current thread is working for.
+ * Held as a local {@link System#nanoTime()} instant and sent to the Inventory Service as the remaining
+ * milliseconds in the {@value #HEADER} header, so the two services' clocks need not agree.
+ * Work without a deadline (background processing, compensation) runs unbounded.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * The deadline that is the given budget from now
+     */
+    public static long after(Duration budget) {
+        return System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * The current thread's deadline, or null when its work is unbounded
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Time left before the current deadline, negative once it has passed, or null when unbounded
+     */
+    public static Duration remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? null : Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    /**
+     * Throw DeadlineExceededException when the current deadline has passed
+     */
+    public static void check() {
+        Duration remaining = remaining();
+        if (remaining != null && (remaining.isNegative() || remaining.isZero())) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+
+    /**
+     * Run work on this thread under the given deadline (null for none), restoring the previous one afterwards
+     */
+    public static <T> T supplyWithin(Long deadline, Supplier<T> work) {
+        Long previous = DEADLINE.get();
+        set(deadline);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Same as {@link #supplyWithin} for work that throws checked exceptions
+     */
+    public static <T> T callWithin(Long deadline, Callable<T> work) throws Exception {
+        Long previous = DEADLINE.get();
+        set(deadline);
+        try {
+            return work.call();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Wrap a task so it runs under the current thread's deadline on whichever thread executes it
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Long deadline = DEADLINE.get();
+        return () -> callWithin(deadline, task);
+    }
+
+    private static void set(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.yashas.assignment.order.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sends the remaining budget of the current request with every outgoing call,
+ * and refuses to send a call whose deadline has already passed.
+ */
+public class RequestDeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null) {
+            RequestDeadline.check();
+            request.getHeaders().set(RequestDeadline.HEADER, String.valueOf(Math.max(1, remaining.toMillis())));
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -1,21 +1,207 @@
 package com.yashas.assignment.order.config;
 
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.yashas.assignment.order.client.RequestDeadline;
+import com.yashas.assignment.order.client.RequestDeadlineInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Configuration class for Spring beans
  */
 @Configuration
+@Slf4j
 public class AppConfiguration {
 
     /**
-     * Create RestTemplate bean for HTTP communication
+     * Create RestTemplate bean for HTTP communication over the configured inventory transport.
+     * Calls carry the remaining request budget in a header; the transport stops waiting for a response there.
+     * With the smile wire format, bodies are sent as Smile and Smile responses are preferred; JSON stays readable.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory inventoryRequestFactory,
+                                     @Value("${inventory.client.wire-format:smile}") String wireFormat) {
+        RestTemplate restTemplate = new RestTemplate(inventoryRequestFactory);
+        restTemplate.getInterceptors().add(new RequestDeadlineInterceptor());
+        switch (wireFormat) {
+            case "smile" -> {
+                restTemplate.getMessageConverters().removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+                restTemplate.getMessageConverters().add(0, new MappingJackson2SmileHttpMessageConverter());
+            }
+            case "json" -> restTemplate.getMessageConverters().removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+            default -> throw new IllegalArgumentException("Unsupported inventory.client.wire-format: " + wireFormat);
+        }
+        return restTemplate;
+    }
+
+    /**
+     * Jackson module replacing reflective getter calls with generated accessors.
+     * Spring Boot registers Module beans with the application ObjectMapper, which writes every response body.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * TCP transport: the pooled inventory HTTP client.
+     * Never waits for a response past the request's deadline.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "inventory.client.transport", havingValue = "tcp", matchIfMissing = true)
+    public ClientHttpRequestFactory inventoryRequestFactory(CloseableHttpClient inventoryHttpClient,
+                                                            RequestConfig inventoryRequestConfig,
+                                                            @Value("${inventory.client.read-timeout:PT3S}") Duration readTimeout) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(inventoryHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            Duration remaining = RequestDeadline.remaining();
+            if (remaining == null || remaining.compareTo(readTimeout) >= 0) {
+                return null;
+            }
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.copy(inventoryRequestConfig)
+                    .setResponseTimeout(Timeout.ofMilliseconds(Math.max(1, remaining.toMillis())))
+                    .build());
+            return context;
+        });
+        return requestFactory;
+    }
+
+    /**
+     * Connection pool for Inventory Service calls.
+     * Connect and read timeouts apply per connection; the inventory route gets its own limit.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager inventoryConnectionManager(
+            @Value("${inventory.service.url:http://localhost:8081}") String inventoryServiceUrl,
+            @Value("${inventory.client.pool.max-total:200}") int maxTotal,
+            @Value("${inventory.client.pool.max-per-route:20}") int maxPerRoute,
+            @Value("${inventory.client.pool.inventory-route-max:100}") int inventoryRouteMax,
+            @Value("${inventory.client.pool.time-to-live:PT5M}") Duration timeToLive,
+            @Value("${inventory.client.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${inventory.client.read-timeout:PT3S}") Duration readTimeout) throws URISyntaxException {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+        connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(inventoryServiceUrl)), inventoryRouteMax);
+        return connectionManager;
+    }
+
+    @Bean
+    public RequestConfig inventoryRequestConfig(
+            @Value("${inventory.client.connection-acquire-timeout:PT0.5S}") Duration acquireTimeout,
+            @Value("${inventory.client.read-timeout:PT3S}") Duration readTimeout) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
     }
-}
 
+    @Bean
+    public CloseableHttpClient inventoryHttpClient(
+            PoolingHttpClientConnectionManager inventoryConnectionManager,
+            RequestConfig inventoryRequestConfig,
+            @Value("${inventory.client.pool.idle-eviction:PT30S}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(inventoryConnectionManager)
+                .setDefaultRequestConfig(inventoryRequestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    /**
+     * Pool utilization gauges (httpcomponents.httpclient.pool.*) tagged with httpclient=inventory
+     */
+    @Bean
+    public MeterBinder inventoryConnectionPoolMetrics(PoolingHttpClientConnectionManager inventoryConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(inventoryConnectionManager, "inventory");
+    }
+
+    /**
+     * Executor for concurrent inventory calls.
+     * Uses a virtual thread per task when enabled and the runtime supports it (Java 21+),
+     * otherwise a bounded platform thread pool that falls back to the caller's thread when saturated.
+     */
+    @Bean
+    public ExecutorService inventoryCallExecutor(
+            @Value("${order.inventory.fanout.virtual-threads:false}") boolean virtualThreads,
+            @Value("${order.inventory.fanout.pool-size:64}") int poolSize) {
+        if (virtualThreads) {
+            Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor();
+            if (executor.isPresent()) {
+                log.info("Inventory calls run on virtual threads");
+                return executor.get();
+            }
+            log.info("Virtual threads not available on Java {}, using a pool of {} platform threads",
+                    Runtime.version().feature(), poolSize);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(0, poolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-call-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor that sends coalesced deduction batches, one task per batch for its whole round trip.
+     * Kept apart from the fan-out executor, so a busy fan-out never pushes a send onto the batcher's
+     * single flusher thread. A full queue rejects the batch; its orders fail fast as with a full bulkhead.
+     */
+    @Bean
+    public ExecutorService inventoryBatchExecutor(
+            @Value("${inventory.client.batch.dispatch-threads:16}") int threads,
+            @Value("${inventory.client.batch.dispatch-queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
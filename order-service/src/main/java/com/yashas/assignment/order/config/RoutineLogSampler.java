@@ -0,0 +1,68 @@
+package com.yashas.assignment.order.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that writes one in {@code oneIn} INFO messages of the configured loggers
+ * (a logger name or package, set with {@code <logger>} elements in logback-spring.xml).
+ * Messages are counted per log statement, so each endpoint's request and success lines are sampled on
+ * their own and the first of each is always written. WARN and ERROR, and messages carrying an exception,
+ * always pass. The decision is taken before the message is formatted; {@code oneIn} of 1 disables sampling.
+ */
+public class RoutineLogSampler extends TurboFilter {
+
+    /** Bounds the counters should a sampled logger build its format strings at run time */
+    static final int MAX_STATEMENTS = 1024;
+
+    private final List<String> loggers = new ArrayList<>();
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int oneIn = 1;
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Level checks such as isInfoEnabled() arrive without a format
+        if (oneIn <= 1 || level != Level.INFO || format == null || t != null
+                || endsWithThrowable(params) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.get(format);
+        if (counter == null) {
+            if (counters.size() >= MAX_STATEMENTS) {
+                return FilterReply.NEUTRAL;
+            }
+            counter = counters.computeIfAbsent(format, key -> new AtomicLong());
+        }
+        return counter.getAndIncrement() % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String name) {
+        for (String sampled : loggers) {
+            if (name.startsWith(sampled)
+                    && (name.length() == sampled.length() || name.charAt(sampled.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithThrowable(Object[] params) {
+        return params != null && params.length > 0 && params[params.length - 1] instanceof Throwable;
+    }
+}
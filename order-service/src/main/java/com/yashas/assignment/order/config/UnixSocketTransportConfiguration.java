@@ -0,0 +1,139 @@
+package com.yashas.assignment.order.config;
+
+import com.yashas.assignment.order.client.RequestDeadline;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Unix domain socket transport for an Inventory Service on the same host.
+ * Requests keep the paths and Host header of {@code inventory.service.url} but are sent over
+ * {@code inventory.client.unix-socket-path}, skipping the loopback TCP stack.
+ * Needs the native epoll transport, so it is available on Linux only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.client.transport", havingValue = "unix")
+@Slf4j
+public class UnixSocketTransportConfiguration {
+
+    /**
+     * Connection pool sized like the TCP inventory route.
+     * Pool gauges are published as reactor.netty.connection.provider.* with name=inventory-uds.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider inventoryUnixConnectionProvider(
+            @Value("${inventory.client.pool.inventory-route-max:100}") int maxConnections,
+            @Value("${inventory.client.connection-acquire-timeout:PT0.5S}") Duration acquireTimeout,
+            @Value("${inventory.client.pool.idle-eviction:PT30S}") Duration idleEviction,
+            @Value("${inventory.client.pool.time-to-live:PT5M}") Duration timeToLive) {
+        return ConnectionProvider.builder("inventory-uds")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(timeToLive)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Unix domain socket transport.
+     * Never waits for a response past the request's deadline.
+     */
+    @Bean
+    public ClientHttpRequestFactory inventoryRequestFactory(
+            ConnectionProvider inventoryUnixConnectionProvider,
+            @Value("${inventory.service.url:http://localhost:8081}") String inventoryServiceUrl,
+            @Value("${inventory.client.unix-socket-path}") String socketPath,
+            @Value("${inventory.client.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${inventory.client.connection-acquire-timeout:PT0.5S}") Duration acquireTimeout,
+            @Value("${inventory.client.read-timeout:PT3S}") Duration readTimeout) {
+        if (!LoopResources.hasNativeSupport()) {
+            throw new IllegalStateException(
+                    "inventory.client.transport=unix needs the native epoll transport, which is not available here");
+        }
+        HttpClient httpClient = HttpClient.create(inventoryUnixConnectionProvider)
+                .remoteAddress(() -> new DomainSocketAddress(socketPath))
+                .headers(headers -> headers.set(HttpHeaderNames.HOST, URI.create(inventoryServiceUrl).getRawAuthority()))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(readTimeout);
+        ClientHttpRequestFactory requestFactory = requestFactory(httpClient, connectTimeout.plus(acquireTimeout));
+        log.info("Inventory Service calls use the Unix domain socket {}", socketPath);
+        return (uri, method) -> {
+            Duration remaining = RequestDeadline.remaining();
+            ClientHttpRequestFactory factory = remaining == null || remaining.compareTo(readTimeout) >= 0
+                    ? requestFactory
+                    : requestFactory(httpClient.responseTimeout(Duration.ofMillis(Math.max(1, remaining.toMillis()))),
+                            connectTimeout.plus(acquireTimeout));
+            // An absolute URI would make the client connect to its host, so only the path and query are passed on
+            return new IOExceptionTranslatingRequest(factory.createRequest(URI.create(uri.getRawPath()
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery())), method));
+        };
+    }
+
+    private static ClientHttpRequestFactory requestFactory(HttpClient httpClient, Duration setupTimeout) {
+        Duration responseTimeout = httpClient.configuration().responseTimeout();
+        ReactorNettyClientRequestFactory requestFactory = new ReactorNettyClientRequestFactory(httpClient);
+        requestFactory.setReadTimeout(responseTimeout);
+        requestFactory.setExchangeTimeout(setupTimeout.plus(responseTimeout));
+        return requestFactory;
+    }
+
+    /**
+     * Reports Netty's response and pool-acquire timeouts as I/O errors, as the TCP transport does,
+     * so RestTemplate surfaces them as {@link org.springframework.web.client.ResourceAccessException}.
+     */
+    @RequiredArgsConstructor
+    private static final class IOExceptionTranslatingRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return delegate.execute();
+            } catch (RuntimeException e) {
+                throw new IOException(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), e);
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+    }
+}
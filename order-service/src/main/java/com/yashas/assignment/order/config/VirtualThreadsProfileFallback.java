@@ -0,0 +1,49 @@
+package com.yashas.assignment.order.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ignores the virtual-threads profile on runtimes without virtual threads (before Java 21).
+ * The profile's pool and worker sizes assume virtual threads; on platform threads they would only add
+ * connections and threads, so the profile's property sources are removed and virtual threads stay off.
+ * Kept identical to the Inventory Service's VirtualThreadsProfileFallback; each copy has its own tests.
+ */
+public class VirtualThreadsProfileFallback implements EnvironmentPostProcessor {
+
+    static final String PROFILE_RESOURCE = "application-virtual-threads";
+
+    private final Log log;
+
+    public VirtualThreadsProfileFallback(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(VirtualThreadsProfileFallback.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        apply(environment, Runtime.version().feature());
+    }
+
+    void apply(ConfigurableEnvironment environment, int javaFeature) {
+        if (javaFeature >= 21 || !environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return;
+        }
+        List<String> profileSources = environment.getPropertySources().stream()
+                .map(PropertySource::getName)
+                .filter(name -> name.contains(PROFILE_RESOURCE))
+                .toList();
+        profileSources.forEach(environment.getPropertySources()::remove);
+        environment.getPropertySources().addFirst(new MapPropertySource("virtualThreadsUnavailable",
+                Map.of("spring.threads.virtual.enabled", "false")));
+        log.warn("Virtual threads need Java 21 or newer, running on Java " + javaFeature
+                + "; keeping platform threads and the default pool sizes");
+    }
+}
@@ -1,18 +1,33 @@
 package com.yashas.assignment.order.controller;
 
+import com.yashas.assignment.order.client.RequestDeadline;
 import com.yashas.assignment.order.dto.OrderCreateDto;
+import com.yashas.assignment.order.dto.OrderPageDto;
 import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.dto.OrderStatusEventDto;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import com.yashas.assignment.order.service.OrderPipeline;
+import com.yashas.assignment.order.service.OrderResponseCache;
 import com.yashas.assignment.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,51 +36,148 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/order")
-@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Order Management", description = "APIs for managing customer orders")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final OrderPipeline orderPipeline;
+    private final OrderResponseCache orderResponseCache;
+    private final Duration requestDeadline;
+
+    public OrderController(OrderService orderService,
+                           OrderPipeline orderPipeline,
+                           OrderResponseCache orderResponseCache,
+                           @Value("${order.request.deadline:PT5S}") Duration requestDeadline) {
+        this.orderService = orderService;
+        this.orderPipeline = orderPipeline;
+        this.orderResponseCache = orderResponseCache;
+        this.requestDeadline = requestDeadline;
+    }
 
     /**
      * POST /order
      * Places an order and updates inventory accordingly.
+     * The order gets the configured time budget, or the caller's remaining budget when that is shorter;
+     * the budget left is passed on with every Inventory Service call.
      */
     @PostMapping
     @Operation(summary = "Place a new order",
-               description = "Creates a new order and updates inventory for ordered items")
-    public ResponseEntity<OrderResponseDto> placeOrder(@Valid @RequestBody OrderCreateDto orderCreateDto) {
+               description = "Creates a new order and updates inventory for ordered items. "
+                       + "Returns 504 when the order cannot finish within its time budget")
+    public ResponseEntity<OrderResponseDto> placeOrder(
+            @Valid @RequestBody OrderCreateDto orderCreateDto,
+            @Parameter(description = "Caller's remaining time budget in milliseconds")
+            @RequestHeader(value = RequestDeadline.HEADER, required = false) Long budgetMillis) {
         log.info("POST request to place order for customer: {}", orderCreateDto.getCustomerId());
-        OrderResponseDto order = orderService.placeOrder(orderCreateDto);
+        OrderResponseDto order = RequestDeadline.supplyWithin(RequestDeadline.after(budget(budgetMillis)),
+                () -> orderService.placeOrder(orderCreateDto));
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
+    /**
+     * POST /order/async
+     * Accepts an order as PENDING and completes it in the background.
+     * Poll GET /order/{orderId} until the status is CONFIRMED or FAILED.
+     */
+    @PostMapping("/async")
+    @Operation(summary = "Place a new order asynchronously",
+               description = "Persists the order as PENDING and returns 202 Accepted without waiting for the Inventory Service. "
+                       + "Poll the Location header until the status is CONFIRMED or FAILED. Returns 503 when the backlog is full")
+    public ResponseEntity<OrderResponseDto> placeOrderAsync(@Valid @RequestBody OrderCreateDto orderCreateDto) {
+        log.info("POST request to accept order for customer: {}", orderCreateDto.getCustomerId());
+        OrderResponseDto order = orderPipeline.accept(orderCreateDto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/order/" + order.getOrderId()))
+                .body(order);
+    }
+
     /**
      * GET /order/{orderId}
      * Retrieves order details by order ID.
+     * Finalized orders are answered from the serialized response cache when the client accepts JSON.
      */
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID",
                description = "Retrieves detailed information about a specific order")
-    public ResponseEntity<OrderResponseDto> getOrder(
-            @Parameter(description = "Order ID") @PathVariable String orderId) {
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = OrderResponseDto.class)))
+    public ResponseEntity<?> getOrder(
+            @Parameter(description = "Order ID") @PathVariable String orderId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET request for order: {}", orderId);
+        if (acceptsJson(accept)) {
+            byte[] cached = orderResponseCache.get(orderId);
+            if (cached != null) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cached);
+            }
+        }
         OrderResponseDto order = orderService.getOrderById(orderId);
+        orderResponseCache.putIfFinal(order);
         return ResponseEntity.ok(order);
     }
 
+    /**
+     * GET /order/{orderId}/status-history
+     * Retrieves every status an order has been in, oldest first.
+     */
+    @GetMapping("/{orderId}/status-history")
+    @Operation(summary = "Get order status history",
+               description = "Retrieves the status changes of a specific order, oldest first")
+    public ResponseEntity<List<OrderStatusEventDto>> getOrderStatusHistory(
+            @Parameter(description = "Order ID") @PathVariable String orderId) {
+        log.info("GET request for status history of order: {}", orderId);
+        return ResponseEntity.ok(orderService.getStatusHistory(orderId));
+    }
+
     /**
      * GET /order/customer/{customerId}
-     * Retrieves all orders for a customer.
+     * Retrieves one page of orders for a customer, newest first.
+     * The cursor for the next page is returned in the X-Next-Cursor header.
      */
     @GetMapping("/customer/{customerId}")
     @Operation(summary = "Get orders by customer ID",
-               description = "Retrieves all orders for a specific customer")
+               description = "Retrieves a page of orders for a specific customer, newest first. "
+                       + "Pass the X-Next-Cursor response header as the cursor parameter to get the next page")
     public ResponseEntity<List<OrderResponseDto>> getCustomerOrders(
-            @Parameter(description = "Customer ID") @PathVariable String customerId) {
+            @Parameter(description = "Customer ID") @PathVariable String customerId,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int limit) {
         log.info("GET request for orders of customer: {}", customerId);
-        List<OrderResponseDto> orders = orderService.getOrdersByCustomerId(customerId);
-        return ResponseEntity.ok(orders);
+        OrderPageDto page = orderService.getOrdersByCustomerId(customerId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+
+    private Duration budget(Long budgetMillis) {
+        if (budgetMillis == null) {
+            return requestDeadline;
+        }
+        if (budgetMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before the order was started");
+        }
+        Duration callerBudget = Duration.ofMillis(budgetMillis);
+        return callerBudget.compareTo(requestDeadline) < 0 ? callerBudget : requestDeadline;
+    }
+
+    /**
+     * Whether JSON is the client's preferred representation; cached bodies are JSON only
+     */
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(types);
+            return !types.isEmpty() && types.get(0).includes(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException e) {
+            // Malformed or overlong header; the uncached path reports it
+            return false;
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.yashas.assignment.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk inventory update (internal use for client communication)
+ * Used to communicate with Inventory Service /inventory/update/batch endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryBatchUpdateDto {
+
+    private List<InventoryUpdateDto> updates;
+}
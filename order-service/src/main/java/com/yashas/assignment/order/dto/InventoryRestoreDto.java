@@ -0,0 +1,21 @@
+package com.yashas.assignment.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for inventory restore (internal use for client communication)
+ * Used to communicate with Inventory Service /inventory/restore endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryRestoreDto {
+
+    private String productId;
+
+    private String reference;
+}
@@ -20,5 +20,9 @@ public class InventoryUpdateDto {
     private String batchId;
 
     private Long quantity;
+
+    private String reference;  // Saga step reference; makes the deduction idempotent and restorable
+
+    private Long budgetMillis;  // Batched deductions: the order's remaining time budget when sent; null when unbounded
 }
 
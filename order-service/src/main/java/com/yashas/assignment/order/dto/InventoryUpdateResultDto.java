@@ -0,0 +1,20 @@
+package com.yashas.assignment.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-entry result of Inventory Service /inventory/update/batch (internal use for client communication)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryUpdateResultDto {
+
+    private boolean success;
+
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.yashas.assignment.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a customer's order history.
+ * nextCursor is null when there are no older orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDto {
+
+    private List<OrderResponseDto> orders;
+
+    private String nextCursor;
+}
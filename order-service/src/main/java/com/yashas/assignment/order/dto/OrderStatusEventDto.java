@@ -0,0 +1,25 @@
+package com.yashas.assignment.order.dto;
+
+import com.yashas.assignment.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one entry of an order's status history
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusEventDto {
+
+    private OrderStatus status;
+
+    private LocalDateTime occurredAt;
+
+    private String reason;
+}
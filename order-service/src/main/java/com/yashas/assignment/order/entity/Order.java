@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -14,7 +15,8 @@ import java.util.List;
  */
 @Entity
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_customer_id", columnList = "customer_id")
+    @Index(name = "idx_customer_created", columnList = "customer_id, created_at, id"),
+    @Index(name = "idx_status_created", columnList = "status, created_at")
 })
 @Data
 @NoArgsConstructor
@@ -22,8 +24,10 @@ import java.util.List;
 @Builder
 public class Order {
 
+    // Sequence ids, allocated 50 at a time, let Hibernate batch inserts; IDENTITY ids disable batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -32,8 +36,9 @@ public class Order {
     @Column(nullable = false)
     private String customerId;
 
+    /** Current status, projected from order_status_events; only changed through OrderStatusLog */
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private OrderStatus status;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -42,21 +47,23 @@ public class Order {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Time of the last status change; only changed through OrderStatusLog */
+    @Column(updatable = false)
     private LocalDateTime updatedAt;
 
+    /** When a pipeline worker last claimed this order while PENDING; only changed through OrderRepository.claimPending */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime claimedAt;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
-            createdAt = LocalDateTime.now();
+            // Stored precision, so the in-memory value matches the column used by history cursors
+            createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         }
         if (status == null) {
             status = OrderStatus.PENDING;
         }
     }
-
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
-    }
 }
 
@@ -0,0 +1,50 @@
+package com.yashas.assignment.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one inventory deduction of an order, written before the deduction is sent.
+ * The reference is passed to the Inventory Service, which makes the deduction idempotent and restorable by it.
+ * Not linked to the orders table: steps are committed on their own, before the order itself.
+ */
+@Entity
+@Table(name = "order_saga_steps", indexes = {
+    @Index(name = "idx_saga_order", columnList = "order_id"),
+    @Index(name = "idx_saga_status_updated", columnList = "status, updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSagaStep {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_saga_step_seq")
+    @SequenceGenerator(name = "order_saga_step_seq", sequenceName = "order_saga_steps_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    @Column(nullable = false, unique = true)
+    private String reference;
+
+    @Column(nullable = false)
+    private String productId;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SagaStepStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
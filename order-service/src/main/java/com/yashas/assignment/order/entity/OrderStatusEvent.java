@@ -0,0 +1,44 @@
+package com.yashas.assignment.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one status an order entered. Rows are only ever inserted;
+ * the status column of the orders table is the current-status projection of these events.
+ */
+@Entity
+@Immutable
+@Table(name = "order_status_events", indexes = {
+    @Index(name = "idx_status_event_order", columnList = "order_id, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_status_event_seq")
+    @SequenceGenerator(name = "order_status_event_seq", sequenceName = "order_status_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /** Why the order entered this status, e.g. the failure reason; null when there is nothing to add */
+    private String reason;
+}
@@ -0,0 +1,11 @@
+package com.yashas.assignment.order.entity;
+
+/**
+ * Enum for the status of an order saga step (one inventory deduction)
+ */
+public enum SagaStepStatus {
+    PENDING,        // Recorded before the deduction is sent; outcome unknown until the order completes
+    COMPLETED,      // Order committed as CONFIRMED; the deduction stands
+    COMPENSATING,   // Order did not confirm; the deduction must be restored
+    COMPENSATED     // Restore acknowledged by the Inventory Service
+}
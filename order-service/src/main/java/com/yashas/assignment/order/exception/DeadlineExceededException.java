@@ -0,0 +1,12 @@
+package com.yashas.assignment.order.exception;
+
+/**
+ * Thrown when a request's time budget runs out before its work is done.
+ * Mapped to 504 Gateway Timeout; the caller has stopped waiting, so no further work is started for it.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.yashas.assignment.order.exception;
+
+/**
+ * Thrown when the Inventory Service cannot be reached, or when calls to it are refused
+ * locally because its circuit breaker is open or its bulkhead is full.
+ * Mapped to 503 Service Unavailable so clients back off and retry.
+ */
+public class InventoryUnavailableException extends RuntimeException {
+
+    public InventoryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
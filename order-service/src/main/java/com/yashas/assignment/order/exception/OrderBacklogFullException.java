@@ -0,0 +1,12 @@
+package com.yashas.assignment.order.exception;
+
+/**
+ * Thrown when the asynchronous order pipeline has no room for another order.
+ * Mapped to 503 Service Unavailable so clients back off and retry.
+ */
+public class OrderBacklogFullException extends RuntimeException {
+
+    public OrderBacklogFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.yashas.assignment.order.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation for order placement.
+ * Records per-phase timers, inventory round trips per order and failure reasons,
+ * and logs the full phase breakdown of orders slower than {@code order.metrics.slow-order-threshold}.
+ */
+@Component
+@Slf4j
+public class OrderMetrics {
+
+    public static final String PHASE_AVAILABILITY_CHECK = "availability_check";
+    public static final String PHASE_INITIAL_SAVE = "initial_save";
+    public static final String PHASE_INVENTORY_UPDATE = "inventory_update";
+    public static final String PHASE_FINAL_SAVE = "final_save";
+
+    public static final String FAILURE_INVALID_REQUEST = "invalid_request";
+    public static final String FAILURE_INVENTORY_UPDATE = "inventory_update_failed";
+    public static final String FAILURE_ERROR = "error";
+    public static final String FAILURE_BACKLOG_FULL = "backlog_full";
+    public static final String FAILURE_INVENTORY_UNAVAILABLE = "inventory_unavailable";
+    public static final String FAILURE_DEADLINE_EXCEEDED = "deadline_exceeded";
+
+    private final MeterRegistry registry;
+    private final long slowOrderThresholdNanos;
+    private final DistributionSummary roundTrips;
+
+    public OrderMetrics(MeterRegistry registry,
+                        @Value("${order.metrics.slow-order-threshold:PT1S}") Duration slowOrderThreshold) {
+        this.registry = registry;
+        this.slowOrderThresholdNanos = slowOrderThreshold.toNanos();
+        this.roundTrips = DistributionSummary.builder("order.inventory.round.trips")
+                .description("Inventory service calls made per order")
+                .register(registry);
+    }
+
+    public OrderPhaseTimer start() {
+        return new OrderPhaseTimer();
+    }
+
+    /**
+     * Record a finished placement; outcome is the final order status or a failure reason
+     */
+    public void finish(OrderPhaseTimer timer, String orderId, String outcome) {
+        long elapsed = timer.elapsedNanos();
+        for (Map.Entry<String, Long> phase : timer.phaseNanos().entrySet()) {
+            Timer.builder("order.place.phase")
+                    .description("Time spent in each phase of order placement")
+                    .tag("phase", phase.getKey())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(phase.getValue(), TimeUnit.NANOSECONDS);
+        }
+        Timer.builder("order.place.latency")
+                .description("Total order placement latency")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        roundTrips.record(timer.inventoryRoundTrips());
+
+        if (elapsed > slowOrderThresholdNanos) {
+            StringJoiner breakdown = new StringJoiner(", ");
+            timer.phaseNanos().forEach((phase, nanos) ->
+                    breakdown.add(phase + "=" + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"));
+            log.warn("Slow order {}: total={}ms, outcome={}, inventoryRoundTrips={}, phases=[{}]",
+                    orderId, TimeUnit.NANOSECONDS.toMillis(elapsed), outcome,
+                    timer.inventoryRoundTrips(), breakdown);
+        }
+    }
+
+    public void recordFailure(String reason) {
+        Counter.builder("order.place.failures")
+                .description("Order placements that did not confirm, by reason")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,46 @@
+package com.yashas.assignment.order.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-order stopwatch for the phases of placeOrder.
+ * Not thread-safe; one instance is used by the thread placing the order.
+ */
+public class OrderPhaseTimer {
+
+    private final long startedNanos;
+    private long phaseStartedNanos;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private int inventoryRoundTrips;
+
+    OrderPhaseTimer() {
+        this.startedNanos = System.nanoTime();
+        this.phaseStartedNanos = startedNanos;
+    }
+
+    /**
+     * Close the phase that has been running since the previous call (or since the order started)
+     */
+    public void endPhase(String phase) {
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - phaseStartedNanos, Long::sum);
+        phaseStartedNanos = now;
+    }
+
+    public void countInventoryRoundTrip() {
+        inventoryRoundTrips++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    Map<String, Long> phaseNanos() {
+        return phaseNanos;
+    }
+
+    int inventoryRoundTrips() {
+        return inventoryRoundTrips;
+    }
+}
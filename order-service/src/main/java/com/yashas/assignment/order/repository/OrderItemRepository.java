@@ -4,6 +4,7 @@ import com.yashas.assignment.order.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,5 +14,10 @@ import java.util.List;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
+
+    /**
+     * Items of several orders in one query, used to load a whole history page at once
+     */
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
 }
 
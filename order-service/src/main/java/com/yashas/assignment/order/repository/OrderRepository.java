@@ -2,9 +2,15 @@ package com.yashas.assignment.order.repository;
 
 import com.yashas.assignment.order.entity.Order;
 import com.yashas.assignment.order.entity.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +22,54 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderId(String orderId);
 
-    List<Order> findByCustomerId(String customerId);
+    /**
+     * First page of a customer's order history, newest first. Served by idx_customer_created.
+     */
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryPage(@Param("customerId") String customerId, Pageable page);
 
-}
+    /**
+     * Next page of a customer's order history: orders strictly older than the (createdAt, id) cursor.
+     */
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryPageBefore(@Param("customerId") String customerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable page);
+
+    /**
+     * Orders in the given status created before the given time and not claimed since then, oldest first.
+     * Served by idx_status_created.
+     */
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status AND o.createdAt < :before " +
+            "AND (o.claimedAt IS NULL OR o.claimedAt < :before) ORDER BY o.createdAt, o.id")
+    List<String> findUnclaimedOrderIds(@Param("status") OrderStatus status,
+                                       @Param("before") LocalDateTime before,
+                                       Pageable page);
 
+    /**
+     * Claim an order in the given status unless it was claimed after staleBefore.
+     * Returns 0 when the order has left that status or another worker holds a fresh claim.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.claimedAt = :now WHERE o.orderId = :orderId AND o.status = :status " +
+            "AND (o.claimedAt IS NULL OR o.claimedAt < :staleBefore)")
+    int claimPending(@Param("orderId") String orderId,
+                     @Param("status") OrderStatus status,
+                     @Param("now") LocalDateTime now,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Move an order from the expected status to a new one. Returns 0 when the order is no longer in the expected status.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id = :id AND o.status = :expected")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") OrderStatus expected,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+}
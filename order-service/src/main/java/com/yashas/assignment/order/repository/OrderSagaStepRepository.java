@@ -0,0 +1,53 @@
+package com.yashas.assignment.order.repository;
+
+import com.yashas.assignment.order.entity.OrderSagaStep;
+import com.yashas.assignment.order.entity.SagaStepStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for OrderSagaStep entity
+ */
+@Repository
+public interface OrderSagaStepRepository extends JpaRepository<OrderSagaStep, Long> {
+
+    boolean existsByOrderId(String orderId);
+
+    List<OrderSagaStep> findByOrderIdAndStatus(String orderId, SagaStepStatus status);
+
+    /**
+     * Move every step of an order that is in one of the given statuses to a new status
+     */
+    @Modifying
+    @Query("UPDATE OrderSagaStep s SET s.status = :status, s.updatedAt = :updatedAt " +
+            "WHERE s.orderId = :orderId AND s.status IN :from")
+    int updateStatus(@Param("orderId") String orderId,
+                     @Param("from") Collection<SagaStepStatus> from,
+                     @Param("status") SagaStepStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE OrderSagaStep s SET s.status = :status, s.updatedAt = :updatedAt WHERE s.reference = :reference")
+    int updateStatusByReference(@Param("reference") String reference,
+                                @Param("status") SagaStepStatus status,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * One recovery batch: orders with unfinished steps untouched since {@code before}, after the {@code afterOrderId} key.
+     * Served by idx_saga_status_updated.
+     */
+    @Query("SELECT DISTINCT s.orderId FROM OrderSagaStep s WHERE s.status IN :statuses " +
+            "AND s.updatedAt < :before AND s.orderId > :afterOrderId ORDER BY s.orderId")
+    List<String> findStaleOrderIds(@Param("statuses") Collection<SagaStepStatus> statuses,
+                                   @Param("before") LocalDateTime before,
+                                   @Param("afterOrderId") String afterOrderId,
+                                   Pageable page);
+}
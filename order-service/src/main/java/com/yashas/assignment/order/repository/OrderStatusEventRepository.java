@@ -0,0 +1,19 @@
+package com.yashas.assignment.order.repository;
+
+import com.yashas.assignment.order.entity.OrderStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for OrderStatusEvent entity
+ */
+@Repository
+public interface OrderStatusEventRepository extends JpaRepository<OrderStatusEvent, Long> {
+
+    /**
+     * Status history of an order, oldest first. Served by idx_status_event_order.
+     */
+    List<OrderStatusEvent> findByOrderIdOrderByOccurredAtAscIdAsc(String orderId);
+}
@@ -0,0 +1,105 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.client.RequestDeadline;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the per-line inventory calls of one order concurrently.
+ * At most {@code max-concurrency} calls of an order are in flight, all of them must finish
+ * before the fan-out deadline or the request's own {@link RequestDeadline}, whichever comes first,
+ * and the first failure cancels every call still running. Calls run under the caller's request deadline.
+ * With fan-out disabled the calls run one after another on the caller's thread.
+ */
+@Component
+@Slf4j
+public class InventoryFanOut {
+
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final long deadlineNanos;
+
+    public InventoryFanOut(@Qualifier("inventoryCallExecutor") ExecutorService executor,
+                           @Value("${order.inventory.fanout.enabled:true}") boolean enabled,
+                           @Value("${order.inventory.fanout.max-concurrency:8}") int maxConcurrency,
+                           @Value("${order.inventory.fanout.deadline:PT5S}") Duration deadline) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.deadlineNanos = deadline.toNanos();
+    }
+
+    /**
+     * Run all calls and return their results in input order.
+     * Throws the first failure's cause, DeadlineExceededException when the request deadline passes,
+     * or IllegalStateException when the fan-out deadline passes.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> calls) throws Exception {
+        if (!enabled || calls.size() <= 1) {
+            List<T> results = new ArrayList<>(calls.size());
+            for (Callable<T> call : calls) {
+                results.add(call.call());
+            }
+            return results;
+        }
+
+        long deadline = System.nanoTime() + deadlineNanos;
+        Long requestDeadline = RequestDeadline.current();
+        boolean requestBound = requestDeadline != null && requestDeadline - deadline < 0;
+        if (requestBound) {
+            deadline = requestDeadline;
+        }
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(calls.size());
+        int submitted = 0;
+        try {
+            // Keep at most maxConcurrency calls of this order in flight
+            while (submitted < calls.size() && submitted < maxConcurrency) {
+                futures.add(completion.submit(RequestDeadline.propagate(calls.get(submitted++))));
+            }
+            for (int completed = 0; completed < calls.size(); completed++) {
+                long remaining = deadline - System.nanoTime();
+                Future<T> done = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (done == null && requestBound) {
+                    throw new DeadlineExceededException("Request deadline passed before inventory calls completed");
+                }
+                if (done == null) {
+                    throw new IllegalStateException("Inventory calls did not complete within "
+                            + TimeUnit.NANOSECONDS.toMillis(deadlineNanos) + " ms");
+                }
+                done.get();
+                if (submitted < calls.size()) {
+                    futures.add(completion.submit(RequestDeadline.propagate(calls.get(submitted++))));
+                }
+            }
+
+            List<T> results = new ArrayList<>(calls.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            // Structured cancellation: nothing started for this order outlives it
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.yashas.assignment.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style order ids: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit per-millisecond sequence, written as 13 Crockford base32 characters after {@code ORD-}.
+ * Ids sort by creation time, so inserts land at the end of the unique orderId index, and nodes with
+ * distinct {@code order.id.node-id} values never collide.
+ * Lock-free: the last issued timestamp and sequence are advanced with a single compare-and-set.
+ * When the clock steps back, or more than 4096 ids are needed in a millisecond, ids continue from the
+ * last issued timestamp; if the clock falls more than {@code order.id.max-clock-skew} behind it,
+ * generation fails rather than drift further from real time.
+ */
+@Component
+@Slf4j
+public class OrderIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    private static final String PREFIX = "ORD-";
+
+    private final long nodeBits;
+    private final long maxClockSkewMillis;
+    private final LongSupplier clock;
+    /** Last issued id's timestamp and sequence, as {@code timestamp << SEQUENCE_BITS | sequence} */
+    private final AtomicLong lastIssued = new AtomicLong();
+
+    @Autowired
+    public OrderIdGenerator(@Value("${order.id.node-id:0}") int nodeId,
+                            @Value("${order.id.max-clock-skew:PT5S}") Duration maxClockSkew) {
+        this(nodeId, maxClockSkew, System::currentTimeMillis);
+    }
+
+    OrderIdGenerator(int nodeId, Duration maxClockSkew, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxClockSkewMillis = maxClockSkew.toMillis();
+        this.clock = clock;
+        log.info("Order ids generated for node {}", nodeId);
+    }
+
+    /**
+     * Next order id, e.g. {@code ORD-0C1QH5R3M1K00}
+     */
+    public String nextOrderId() {
+        long id = nextId();
+        char[] encoded = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            encoded[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return PREFIX + new String(encoded);
+    }
+
+    /**
+     * Next id as a positive 63-bit number, increasing on this node
+     */
+    long nextId() {
+        while (true) {
+            long last = lastIssued.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now > maxClockSkewMillis) {
+                throw new IllegalStateException("Clock is " + (lastTimestamp - now)
+                        + " ms behind the last issued order id, refusing to generate more");
+            } else {
+                // Same millisecond or a clock step back: next sequence, carrying into the next millisecond
+                next = last + 1;
+            }
+            if (lastIssued.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
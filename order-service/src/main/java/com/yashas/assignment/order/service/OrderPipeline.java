@@ -0,0 +1,158 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.config.VirtualThreads;
+import com.yashas.assignment.order.dto.OrderCreateDto;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.exception.OrderBacklogFullException;
+import com.yashas.assignment.order.metrics.OrderMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous order placement.
+ * Accepted orders are persisted as PENDING and handed to a fixed pool of workers through a bounded queue;
+ * each worker runs {@link OrderService#processAcceptedOrder}. When every worker is busy and the queue is full,
+ * new orders are refused with {@link OrderBacklogFullException} before anything is persisted.
+ * A worker claims an order with a conditional update before processing it, so an order queued twice, on this
+ * node or another, is processed once. Orders left PENDING longer than {@code order.pipeline.retry.stale-after}
+ * without a live claim (never queued, a worker failed, or a previous run stopped) are queued again by a periodic
+ * scan, as far as capacity allows; the same period is the claim's lease.
+ * In virtual-thread mode the workers are virtual threads, so the worker count can be raised cheaply.
+ */
+@Component
+@Slf4j
+public class OrderPipeline {
+
+    private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore capacity;
+    private final Duration shutdownTimeout;
+    private final Duration staleAfter;
+
+    public OrderPipeline(OrderService orderService,
+                         OrderMetrics orderMetrics,
+                         MeterRegistry meterRegistry,
+                         @Value("${order.pipeline.workers:8}") int workerCount,
+                         @Value("${order.pipeline.queue-capacity:1000}") int queueCapacity,
+                         @Value("${order.pipeline.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+                         @Value("${order.pipeline.retry.stale-after:PT1M}") Duration staleAfter,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.orderService = orderService;
+        this.orderMetrics = orderMetrics;
+        this.shutdownTimeout = shutdownTimeout;
+        this.staleAfter = staleAfter;
+        // One permit per worker plus one per queue slot, so the executor itself never rejects
+        this.capacity = new Semaphore(workerCount + queueCapacity);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), workerThreadFactory(virtualThreads));
+        new ExecutorServiceMetrics(workers, "order.pipeline", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Persist the order as PENDING and queue it for processing. Returns the accepted order.
+     */
+    public OrderResponseDto accept(OrderCreateDto orderCreateDto) {
+        if (!capacity.tryAcquire()) {
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_BACKLOG_FULL);
+            throw new OrderBacklogFullException("Order backlog is full, retry later");
+        }
+
+        OrderResponseDto accepted;
+        try {
+            accepted = orderService.acceptOrder(orderCreateDto);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        enqueue(accepted.getOrderId());
+        return accepted;
+    }
+
+    /**
+     * Queue stale PENDING orders again, as many as there is free capacity for
+     */
+    @Scheduled(initialDelayString = "${order.pipeline.retry.initial-delay:PT10S}",
+            fixedDelayString = "${order.pipeline.retry.interval:PT30S}")
+    public void retryStalePendingOrders() {
+        int free = capacity.availablePermits();
+        if (free == 0) {
+            return;
+        }
+        List<String> staleOrderIds = orderService.findStalePendingOrderIds(staleAfter, free);
+        int resumed = 0;
+        for (String orderId : staleOrderIds) {
+            if (!capacity.tryAcquire()) {
+                break;
+            }
+            enqueue(orderId);
+            resumed++;
+        }
+        if (resumed > 0) {
+            log.info("Queued {} stale pending orders again", resumed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Order pipeline did not drain within {}; remaining orders stay PENDING", shutdownTimeout);
+            workers.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            Optional<ThreadFactory> factory = VirtualThreads.factory("order-pipeline-");
+            if (factory.isPresent()) {
+                return factory.get();
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "order-pipeline-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void enqueue(String orderId) {
+        try {
+            workers.execute(() -> process(orderId));
+        } catch (RejectedExecutionException e) {
+            capacity.release();
+            log.error("Order {} could not be queued and stays PENDING", orderId);
+        }
+    }
+
+    private void process(String orderId) {
+        try {
+            if (!orderService.claimPendingOrder(orderId, staleAfter)) {
+                log.debug("Order {} is completed or held by another worker, skipping", orderId);
+                return;
+            }
+            orderService.processAcceptedOrder(orderId);
+        } catch (RuntimeException e) {
+            log.error("Order {} could not be processed and stays PENDING until retried", orderId, e);
+        } finally {
+            capacity.release();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.yashas.assignment.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.entity.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized JSON bodies of GET /api/order/{orderId} for CONFIRMED and FAILED orders, which never change again.
+ * Bounded by the total body size, {@code order.response-cache.max-size}; 0 disables the cache.
+ * Reads are lock-free. Eviction is CLOCK, an approximation of LRU: entries are passed in insertion order
+ * and one that was read since it was last passed gets a second chance.
+ */
+@Component
+@Slf4j
+public class OrderResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /** Order ids in eviction order, guarded by itself together with totalBytes */
+    private final ArrayDeque<String> clock = new ArrayDeque<>();
+    private volatile long totalBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public OrderResponseCache(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.response-cache.max-size:16MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxSize.toBytes();
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("order.response.cache.evictions")
+                .description("Cached order responses evicted to stay within the size limit")
+                .register(meterRegistry);
+        Gauge.builder("order.response.cache.size", entries, ConcurrentHashMap::size)
+                .description("Order responses currently cached")
+                .register(meterRegistry);
+        Gauge.builder("order.response.cache.bytes", this, cache -> cache.totalBytes)
+                .description("Total size of the cached order responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached JSON body of an order, or null when it is not cached
+     */
+    public byte[] get(String orderId) {
+        Entry entry = entries.get(orderId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.body;
+    }
+
+    /**
+     * Cache the JSON body of an order once it is CONFIRMED or FAILED; orders in other statuses are ignored
+     */
+    public void putIfFinal(OrderResponseDto order) {
+        if (maxBytes == 0 || (order.getStatus() != OrderStatus.CONFIRMED && order.getStatus() != OrderStatus.FAILED)) {
+            return;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            log.warn("Order {} response not cached: {}", order.getOrderId(), e.getMessage());
+            return;
+        }
+        if (body.length > maxBytes) {
+            return;
+        }
+
+        synchronized (clock) {
+            if (entries.putIfAbsent(order.getOrderId(), new Entry(body)) != null) {
+                return;
+            }
+            clock.addLast(order.getOrderId());
+            long bytes = totalBytes + body.length;
+            // Every pass clears a reference bit, so this ends within two turns of the clock
+            while (bytes > maxBytes) {
+                String candidate = clock.pollFirst();
+                Entry entry = entries.get(candidate);
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.addLast(candidate);
+                } else {
+                    entries.remove(candidate);
+                    bytes -= entry.body.length;
+                    evictions.increment();
+                }
+            }
+            totalBytes = bytes;
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.response.cache.requests")
+                .description("Order response cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+
+        private final byte[] body;
+        /** Read since the clock last passed this entry */
+        private volatile boolean referenced;
+
+        private Entry(byte[] body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.client.InventoryServiceClient;
+import com.yashas.assignment.order.client.RequestDeadline;
+import com.yashas.assignment.order.entity.Order;
+import com.yashas.assignment.order.entity.OrderItem;
+import com.yashas.assignment.order.entity.OrderSagaStep;
+import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.entity.SagaStepStatus;
+import com.yashas.assignment.order.repository.OrderRepository;
+import com.yashas.assignment.order.repository.OrderSagaStepRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Saga coordinator for the inventory deductions of an order.
+ * Every deduction is recorded as a step, committed on its own before the deduction is sent, and carries
+ * a reference the Inventory Service uses to apply it at most once and to restore it later.
+ * When an order does not confirm, all of its steps are compensated with restores that run in parallel;
+ * restoring a deduction that never landed is harmless and stops it from landing later.
+ * Steps left unfinished by a crash or an unacknowledged restore are picked up by a periodic recovery scan.
+ */
+@Component
+@Slf4j
+public class OrderSaga {
+
+    private static final List<SagaStepStatus> UNFINISHED = List.of(SagaStepStatus.PENDING, SagaStepStatus.COMPENSATING);
+
+    private final OrderSagaStepRepository stepRepository;
+    private final OrderRepository orderRepository;
+    private final InventoryServiceClient inventoryServiceClient;
+    private final InventoryFanOut inventoryFanOut;
+    private final TransactionTemplate newTransaction;
+    private final Duration staleAfter;
+    private final int recoveryBatchSize;
+
+    public OrderSaga(OrderSagaStepRepository stepRepository,
+                     OrderRepository orderRepository,
+                     InventoryServiceClient inventoryServiceClient,
+                     InventoryFanOut inventoryFanOut,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${order.saga.recovery.stale-after:PT2M}") Duration staleAfter,
+                     @Value("${order.saga.recovery.batch-size:100}") int recoveryBatchSize) {
+        this.stepRepository = stepRepository;
+        this.orderRepository = orderRepository;
+        this.inventoryServiceClient = inventoryServiceClient;
+        this.inventoryFanOut = inventoryFanOut;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.staleAfter = staleAfter;
+        this.recoveryBatchSize = recoveryBatchSize;
+    }
+
+    /**
+     * Reference of the deduction for the item at {@code index} of an order
+     */
+    public static String stepReference(String orderId, int index) {
+        return orderId + "-" + index;
+    }
+
+    /**
+     * Record one PENDING step per item and commit them before any deduction is sent.
+     * A retried order keeps the steps of its earlier attempt.
+     */
+    public void begin(String orderId, List<OrderItem> orderItems) {
+        newTransaction.executeWithoutResult(status -> {
+            if (!stepRepository.existsByOrderId(orderId)) {
+                record(orderId, orderItems);
+            }
+        });
+    }
+
+    /**
+     * Record one PENDING step per item of a new order in the caller's transaction,
+     * so the steps commit together with the order, before any deduction is sent
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String orderId, List<OrderItem> orderItems) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSagaStep> steps = new ArrayList<>(orderItems.size());
+        for (int i = 0; i < orderItems.size(); i++) {
+            steps.add(OrderSagaStep.builder()
+                    .orderId(orderId)
+                    .reference(stepReference(orderId, i))
+                    .productId(orderItems.get(i).getProductId())
+                    .quantity(orderItems.get(i).getQuantity())
+                    .status(SagaStepStatus.PENDING)
+                    .updatedAt(now)
+                    .build());
+        }
+        stepRepository.saveAll(steps);
+    }
+
+    /**
+     * The order is CONFIRMED: its deductions stand
+     */
+    public void complete(String orderId) {
+        newTransaction.executeWithoutResult(status -> stepRepository.updateStatus(orderId,
+                List.of(SagaStepStatus.PENDING), SagaStepStatus.COMPLETED, LocalDateTime.now()));
+    }
+
+    /**
+     * Restore every deduction of the order that is not compensated yet, all in parallel.
+     * Returns whether every restore was acknowledged; the others stay COMPENSATING for the recovery scan.
+     * Restores are not bounded by the deadline of the request that failed.
+     */
+    public boolean compensate(String orderId) {
+        List<OrderSagaStep> steps = newTransaction.execute(status -> {
+            stepRepository.updateStatus(orderId, UNFINISHED, SagaStepStatus.COMPENSATING, LocalDateTime.now());
+            return stepRepository.findByOrderIdAndStatus(orderId, SagaStepStatus.COMPENSATING);
+        });
+        if (steps == null || steps.isEmpty()) {
+            return true;
+        }
+
+        List<Callable<Boolean>> restores = new ArrayList<>(steps.size());
+        for (OrderSagaStep step : steps) {
+            restores.add(() -> restore(step));
+        }
+        try {
+            boolean restoredAll = RequestDeadline.callWithin(null, () -> inventoryFanOut.invokeAll(restores))
+                    .stream().allMatch(Boolean::booleanValue);
+            if (restoredAll) {
+                log.info("Order {} compensated, {} deductions restored", orderId, steps.size());
+            }
+            return restoredAll;
+        } catch (Exception e) {
+            log.error("Compensation of order {} did not finish: {}", orderId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Finish sagas left behind by a crash or an unacknowledged restore, one batch of orders at a time.
+     * Steps younger than {@code order.saga.recovery.stale-after} belong to orders still in flight and are skipped.
+     */
+    @Scheduled(initialDelayString = "${order.saga.recovery.initial-delay:PT10S}",
+            fixedDelayString = "${order.saga.recovery.interval:PT1M}")
+    public void recoverStaleSagas() {
+        LocalDateTime before = LocalDateTime.now().minus(staleAfter);
+        PageRequest batch = PageRequest.ofSize(recoveryBatchSize);
+        String afterOrderId = "";
+        int recovered = 0;
+        List<String> orderIds;
+        do {
+            orderIds = stepRepository.findStaleOrderIds(UNFINISHED, before, afterOrderId, batch);
+            for (String orderId : orderIds) {
+                if (recover(orderId)) {
+                    recovered++;
+                }
+            }
+            if (!orderIds.isEmpty()) {
+                afterOrderId = orderIds.get(orderIds.size() - 1);
+            }
+        } while (orderIds.size() == recoveryBatchSize);
+
+        if (recovered > 0) {
+            log.info("Recovered {} unfinished order sagas", recovered);
+        }
+    }
+
+    private boolean recover(String orderId) {
+        OrderStatus status = orderRepository.findByOrderId(orderId).map(Order::getStatus).orElse(null);
+        if (status == OrderStatus.PENDING) {
+            // Accepted order: OrderPipeline.retryStalePendingOrders queues it again once its worker's claim
+            // has gone stale, and the retry reuses these references; the scan finishes the saga after that
+            return false;
+        }
+        if (status == OrderStatus.CONFIRMED) {
+            complete(orderId);
+            return true;
+        }
+        // FAILED, or the order never committed
+        return compensate(orderId);
+    }
+
+    private boolean restore(OrderSagaStep step) {
+        try {
+            inventoryServiceClient.restoreInventory(step.getProductId(), step.getReference());
+        } catch (RuntimeException e) {
+            log.warn("Restore of deduction {} failed, left for recovery: {}", step.getReference(), e.getMessage());
+            return false;
+        }
+        newTransaction.executeWithoutResult(status -> stepRepository.updateStatusByReference(
+                step.getReference(), SagaStepStatus.COMPENSATED, LocalDateTime.now()));
+        return true;
+    }
+}
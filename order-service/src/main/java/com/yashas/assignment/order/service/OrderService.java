@@ -4,19 +4,38 @@ import com.yashas.assignment.order.client.InventoryServiceClient;
 import com.yashas.assignment.order.dto.OrderCreateDto;
 import com.yashas.assignment.order.dto.OrderItemCreateDto;
 import com.yashas.assignment.order.dto.OrderItemDto;
+import com.yashas.assignment.order.dto.OrderPageDto;
 import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.dto.OrderStatusEventDto;
 import com.yashas.assignment.order.entity.Order;
 import com.yashas.assignment.order.entity.OrderItem;
 import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.entity.OrderStatusEvent;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import com.yashas.assignment.order.metrics.OrderMetrics;
+import com.yashas.assignment.order.metrics.OrderPhaseTimer;
+import com.yashas.assignment.order.repository.OrderItemRepository;
 import com.yashas.assignment.order.repository.OrderRepository;
+import com.yashas.assignment.order.repository.OrderStatusEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Service class for managing order operations.
@@ -28,87 +47,228 @@ import java.util.UUID;
 @Transactional
 public class OrderService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderStatusEventRepository orderStatusEventRepository;
     private final InventoryServiceClient inventoryServiceClient;
+    private final InventoryFanOut inventoryFanOut;
+    private final OrderSaga orderSaga;
+    private final OrderMetrics orderMetrics;
+    private final OrderIdGenerator orderIdGenerator;
+    private final OrderStatusLog orderStatusLog;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Place a new order and update inventory
+     * Place a new order and update inventory.
+     * No connection is held across the remote inventory calls: the order, its items and its saga steps
+     * are committed in one short transaction after the availability check, the deductions run without
+     * a transaction, and the final status is written in a second short one. An order left PENDING by a
+     * crash in between is finished by {@link OrderPipeline#retryStalePendingOrders}, as an accepted one is.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponseDto placeOrder(OrderCreateDto orderCreateDto) {
         log.info("Processing new order for customer: {}", orderCreateDto.getCustomerId());
 
         if (orderCreateDto.getItems() == null || orderCreateDto.getItems().isEmpty()) {
             log.error("Order must contain at least one item");
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_INVALID_REQUEST);
             throw new IllegalArgumentException("Order must contain at least one item");
         }
 
-        String orderId = generateOrderId();
+        String orderId = orderIdGenerator.nextOrderId();
+        OrderPhaseTimer timer = orderMetrics.start();
 
         try {
-            // Verify inventory availability for all items
-            for (OrderItemCreateDto item : orderCreateDto.getItems()) {
-                if (!inventoryServiceClient.checkInventoryAvailability(item.getProductId())) {
-                    log.error("Product not found or no inventory: {}", item.getProductId());
-                    throw new IllegalArgumentException("Product not found or no inventory: " + item.getProductId());
-                }
-            }
+            // Verify inventory availability for all items, concurrently
+            List<String> productIds = orderCreateDto.getItems().stream()
+                    .map(OrderItemCreateDto::getProductId)
+                    .toList();
+            verifyAvailability(productIds, timer);
 
-            // Create order
+            // Create the order with its items attached, so the order row and a batch of item rows
+            // are written in one flush, together with its first status event and saga steps.
+            // Committed before inventory is touched, so a rejected insert leaves no deductions to undo
             Order order = Order.builder()
                     .orderId(orderId)
                     .customerId(orderCreateDto.getCustomerId())
                     .status(OrderStatus.PENDING)
-                    .orderItems(new ArrayList<>())
                     .build();
+            List<OrderItem> orderItems = buildOrderItems(order, orderCreateDto);
+            order.setOrderItems(orderItems);
 
-            Order savedOrder = orderRepository.save(order);
+            Order savedOrder = transactionTemplate.execute(status -> {
+                Order saved = orderRepository.saveAndFlush(order);
+                orderStatusLog.created(saved);
+                orderSaga.record(orderId, orderItems);
+                return saved;
+            });
+            timer.endPhase(OrderMetrics.PHASE_INITIAL_SAVE);
             log.info("Order created with ID: {}", orderId);
 
-            // Create and save order items
-            List<OrderItem> orderItems = new ArrayList<>();
-            for (OrderItemCreateDto itemDto : orderCreateDto.getItems()) {
-                OrderItem orderItem = OrderItem.builder()
-                        .order(savedOrder)
-                        .productId(itemDto.getProductId())
-                        .quantity(itemDto.getQuantity())
-                        .build();
-                orderItems.add(orderItem);
-            }
-            savedOrder.setOrderItems(orderItems);
-
-            // Update inventory for each item
-            boolean inventoryUpdatedSuccessfully = true;
-            for (OrderItem item : orderItems) {
-                try {
-                    inventoryServiceClient.updateInventory(item.getProductId(), item.getQuantity());
-                } catch (Exception e) {
-                    log.error("Failed to update inventory for item: {}", item.getProductId(), e);
-                    inventoryUpdatedSuccessfully = false;
-                    break;
-                }
+            boolean inventoryUpdatedSuccessfully;
+            try {
+                inventoryUpdatedSuccessfully = deductInventory(orderId, orderItems, timer);
+            } catch (InventoryUnavailableException e) {
+                // The order is committed: undo what was deducted and record why it failed before reporting it
+                orderSaga.compensate(orderId);
+                orderStatusLog.transition(savedOrder, OrderStatus.PENDING, OrderStatus.FAILED,
+                        OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE);
+                throw e;
             }
 
             // Update order status based on inventory update result
+            OrderStatus status;
+            String reason = null;
             if (inventoryUpdatedSuccessfully) {
-                savedOrder.setStatus(OrderStatus.CONFIRMED);
+                status = OrderStatus.CONFIRMED;
                 log.info("Order confirmed: {}", orderId);
             } else {
-                savedOrder.setStatus(OrderStatus.FAILED);
+                status = OrderStatus.FAILED;
+                reason = OrderMetrics.FAILURE_INVENTORY_UPDATE;
+                orderMetrics.recordFailure(OrderMetrics.FAILURE_INVENTORY_UPDATE);
                 log.error("Order failed: {}", orderId);
             }
 
-            Order finalOrder = orderRepository.save(savedOrder);
-            return mapToOrderResponseDto(finalOrder);
+            // A narrow update of the order's status plus its status event, in their own short transaction
+            LocalDateTime updatedAt = orderStatusLog.transition(savedOrder, OrderStatus.PENDING, status, reason);
+            if (status == OrderStatus.CONFIRMED) {
+                orderSaga.complete(orderId);
+            }
+            savedOrder.setStatus(status);
+            savedOrder.setUpdatedAt(updatedAt);
+            timer.endPhase(OrderMetrics.PHASE_FINAL_SAVE);
+            orderMetrics.finish(timer, orderId, savedOrder.getStatus().name());
+            return mapToOrderResponseDto(savedOrder);
 
         } catch (IllegalArgumentException e) {
             log.error("Invalid order request: {}", e.getMessage());
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_INVALID_REQUEST);
+            orderMetrics.finish(timer, orderId, OrderMetrics.FAILURE_INVALID_REQUEST);
+            throw e;
+        } catch (InventoryUnavailableException e) {
+            log.error("Order {} rejected, Inventory Service unavailable: {}", orderId, e.getMessage());
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE);
+            orderMetrics.finish(timer, orderId, OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE);
+            throw e;
+        } catch (DeadlineExceededException e) {
+            log.error("Order {} abandoned: {}", orderId, e.getMessage());
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_DEADLINE_EXCEEDED);
+            orderMetrics.finish(timer, orderId, OrderMetrics.FAILURE_DEADLINE_EXCEEDED);
             throw e;
         } catch (Exception e) {
             log.error("Error processing order: {}", e.getMessage(), e);
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_ERROR);
+            orderMetrics.finish(timer, orderId, OrderMetrics.FAILURE_ERROR);
             throw new RuntimeException("Error processing order: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Accept an order without contacting the Inventory Service.
+     * The order and its items are persisted as PENDING; {@link #processAcceptedOrder} completes it later.
+     */
+    public OrderResponseDto acceptOrder(OrderCreateDto orderCreateDto) {
+        log.info("Accepting new order for customer: {}", orderCreateDto.getCustomerId());
+
+        if (orderCreateDto.getItems() == null || orderCreateDto.getItems().isEmpty()) {
+            log.error("Order must contain at least one item");
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_INVALID_REQUEST);
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+
+        Order order = Order.builder()
+                .orderId(orderIdGenerator.nextOrderId())
+                .customerId(orderCreateDto.getCustomerId())
+                .status(OrderStatus.PENDING)
+                .build();
+        order.setOrderItems(buildOrderItems(order, orderCreateDto));
+
+        Order savedOrder = orderRepository.save(order);
+        orderStatusLog.created(savedOrder);
+        log.info("Order accepted with ID: {}", savedOrder.getOrderId());
+        return mapToOrderResponseDto(savedOrder);
+    }
+
+    /**
+     * Complete an accepted order: check and deduct inventory, then mark it CONFIRMED or FAILED.
+     * Runs without a surrounding transaction, so no database connection is held across the
+     * remote inventory calls. Orders that are no longer PENDING are left untouched. While the
+     * Inventory Service is unavailable the order stays PENDING, to be retried, and PENDING is returned.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderStatus processAcceptedOrder(String orderId) {
+        Order order = orderRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        if (order.getStatus() != OrderStatus.PENDING) {
+            log.warn("Order {} already completed with status {}", orderId, order.getStatus());
+            return order.getStatus();
+        }
+
+        List<OrderItem> orderItems = orderItemRepository.findByOrderIdIn(List.of(order.getId()));
+        OrderPhaseTimer timer = orderMetrics.start();
+        OrderStatus status = OrderStatus.FAILED;
+        String outcome;
+        String reason = null;
+        try {
+            verifyAvailability(orderItems.stream().map(OrderItem::getProductId).toList(), timer);
+            orderSaga.begin(orderId, orderItems);
+            if (deductInventory(orderId, orderItems, timer)) {
+                status = OrderStatus.CONFIRMED;
+            } else {
+                reason = OrderMetrics.FAILURE_INVENTORY_UPDATE;
+                orderMetrics.recordFailure(OrderMetrics.FAILURE_INVENTORY_UPDATE);
+            }
+            outcome = status.name();
+        } catch (IllegalArgumentException e) {
+            log.error("Accepted order {} rejected: {}", orderId, e.getMessage());
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_INVALID_REQUEST);
+            outcome = OrderMetrics.FAILURE_INVALID_REQUEST;
+            reason = outcome;
+        } catch (InventoryUnavailableException e) {
+            // Absorbed rather than failed: nothing is compensated and the order stays PENDING under its claim.
+            // Once the claim's lease runs out, retryStalePendingOrders queues it again, and the retry
+            // sends the same deduction references, so deductions that already landed are not repeated
+            log.warn("Accepted order {} stays PENDING, Inventory Service unavailable: {}", orderId, e.getMessage());
+            orderMetrics.finish(timer, orderId, OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE);
+            return OrderStatus.PENDING;
+        } catch (Exception e) {
+            log.error("Error processing accepted order {}: {}", orderId, e.getMessage(), e);
+            orderMetrics.recordFailure(OrderMetrics.FAILURE_ERROR);
+            outcome = OrderMetrics.FAILURE_ERROR;
+            reason = outcome;
+        }
+
+        orderStatusLog.transition(order, OrderStatus.PENDING, status, reason);
+        if (status == OrderStatus.CONFIRMED) {
+            orderSaga.complete(orderId);
+        }
+        timer.endPhase(OrderMetrics.PHASE_FINAL_SAVE);
+        orderMetrics.finish(timer, orderId, outcome);
+        log.info("Accepted order {} completed with status {}", orderId, status);
+        return status;
+    }
+
+    /**
+     * Claim a PENDING order for the calling worker, unless another worker claimed it less than {@code lease} ago.
+     * Returns false when the order is no longer PENDING or is held by another worker.
+     */
+    public boolean claimPendingOrder(String orderId, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return orderRepository.claimPending(orderId, OrderStatus.PENDING, now, now.minus(lease)) > 0;
+    }
+
+    /**
+     * IDs of PENDING orders accepted more than {@code staleAfter} ago that no worker holds:
+     * never claimed, or claimed that long ago by a worker that failed or stopped. Oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findStalePendingOrderIds(Duration staleAfter, int limit) {
+        return orderRepository.findUnclaimedOrderIds(OrderStatus.PENDING,
+                LocalDateTime.now().minus(staleAfter), PageRequest.ofSize(limit));
+    }
+
     /**
      * Retrieve order by order ID
      */
@@ -126,23 +286,153 @@ public class OrderService {
     }
 
     /**
-     * Retrieve all orders by customer ID
+     * Status history of an order, oldest first, read from the status event log
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatusEventDto> getStatusHistory(String orderId) {
+        List<OrderStatusEvent> events = orderStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc(orderId);
+        if (events.isEmpty()) {
+            log.error("Order not found: {}", orderId);
+            throw new IllegalArgumentException("Order not found: " + orderId);
+        }
+        return events.stream()
+                .map(event -> OrderStatusEventDto.builder()
+                        .status(event.getStatus())
+                        .occurredAt(event.getOccurredAt())
+                        .reason(event.getReason())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Retrieve one page of a customer's orders, newest first.
+     * Uses keyset pagination on (createdAt, id); items for the whole page are loaded in one query.
      */
     @Transactional(readOnly = true)
-    public List<OrderResponseDto> getOrdersByCustomerId(String customerId) {
+    public OrderPageDto getOrdersByCustomerId(String customerId, String cursor, int limit) {
         log.info("Fetching orders for customer: {}", customerId);
 
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        return orders.stream()
-                .map(this::mapToOrderResponseDto)
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether an older page exists
+        Pageable page = PageRequest.ofSize(limit + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findHistoryPage(customerId, page);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            orders = orderRepository.findHistoryPageBefore(customerId, position.createdAt(), position.id(), page);
+        }
+
+        boolean hasMore = orders.size() > limit;
+        if (hasMore) {
+            orders = orders.subList(0, limit);
+        }
+
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+        if (!orders.isEmpty()) {
+            List<Long> orderIds = orders.stream().map(Order::getId).toList();
+            for (OrderItem item : orderItemRepository.findByOrderIdIn(orderIds)) {
+                itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+
+        List<OrderResponseDto> dtos = orders.stream()
+                .map(order -> mapToOrderResponseDto(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
                 .toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return OrderPageDto.builder()
+                .orders(dtos)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     // Helper methods
+
+    /**
+     * Verify inventory availability for all products, concurrently
+     */
+    private void verifyAvailability(List<String> productIds, OrderPhaseTimer timer) throws Exception {
+        List<Callable<Boolean>> availabilityChecks = new ArrayList<>();
+        for (String productId : productIds) {
+            timer.countInventoryRoundTrip();
+            availabilityChecks.add(() -> inventoryServiceClient.checkInventoryAvailability(productId));
+        }
+        List<Boolean> availability = inventoryFanOut.invokeAll(availabilityChecks);
+        for (int i = 0; i < availability.size(); i++) {
+            if (!availability.get(i)) {
+                String productId = productIds.get(i);
+                log.error("Product not found or no inventory: {}", productId);
+                throw new IllegalArgumentException("Product not found or no inventory: " + productId);
+            }
+        }
+        timer.endPhase(OrderMetrics.PHASE_AVAILABILITY_CHECK);
+    }
+
+    /**
+     * Update inventory for each item, concurrently; the first failure cancels the rest.
+     * Each deduction is a step of the order's saga, recorded beforehand: on failure every step is compensated.
+     * Returns whether every item was deducted. A call refused because the Inventory Service is unavailable
+     * is rethrown without compensating: the caller either compensates and fails the order, or keeps it
+     * to retry with the same references.
+     */
+    private boolean deductInventory(String orderId, List<OrderItem> orderItems, OrderPhaseTimer timer) {
+        List<Callable<Void>> inventoryUpdates = new ArrayList<>();
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem item = orderItems.get(i);
+            String reference = OrderSaga.stepReference(orderId, i);
+            timer.countInventoryRoundTrip();
+            inventoryUpdates.add(() -> {
+                try {
+                    inventoryServiceClient.updateInventory(item.getProductId(), item.getQuantity(), reference);
+                    return null;
+                } catch (Exception e) {
+                    log.error("Failed to update inventory for item: {}", item.getProductId(), e);
+                    throw e;
+                }
+            });
+        }
+        boolean inventoryUpdatedSuccessfully = true;
+        try {
+            inventoryFanOut.invokeAll(inventoryUpdates);
+        } catch (InventoryUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            inventoryUpdatedSuccessfully = false;
+            orderSaga.compensate(orderId);
+        }
+        timer.endPhase(OrderMetrics.PHASE_INVENTORY_UPDATE);
+        return inventoryUpdatedSuccessfully;
+    }
+
+    private List<OrderItem> buildOrderItems(Order order, OrderCreateDto orderCreateDto) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (OrderItemCreateDto itemDto : orderCreateDto.getItems()) {
+            orderItems.add(OrderItem.builder()
+                    .order(order)
+                    .productId(itemDto.getProductId())
+                    .quantity(itemDto.getQuantity())
+                    .build());
+        }
+        return orderItems;
+    }
+
     private OrderResponseDto mapToOrderResponseDto(Order order) {
+        return mapToOrderResponseDto(order, order.getOrderItems());
+    }
+
+    private OrderResponseDto mapToOrderResponseDto(Order order, List<OrderItem> orderItems) {
         List<OrderItemDto> itemDTOs = new ArrayList<>();
-        if (order.getOrderItems() != null) {
-            for (OrderItem item : order.getOrderItems()) {
+        if (orderItems != null) {
+            for (OrderItem item : orderItems) {
                 itemDTOs.add(OrderItemDto.builder()
                         .id(item.getId())
                         .productId(item.getProductId())
@@ -162,8 +452,23 @@ public class OrderService {
                 .build();
     }
 
-    private String generateOrderId() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
     }
 }
 
@@ -0,0 +1,63 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.entity.Order;
+import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.entity.OrderStatusEvent;
+import com.yashas.assignment.order.repository.OrderRepository;
+import com.yashas.assignment.order.repository.OrderStatusEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Append-only log of order status changes.
+ * Every change is an inserted order_status_events row; the orders row keeps only the current status,
+ * moved with a conditional update of its status and updatedAt columns instead of a full-row entity update.
+ * Events are inserted at the next flush, so the events of a transaction go out as one JDBC batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusLog {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusEventRepository eventRepository;
+
+    /**
+     * Record the status a newly saved order starts in
+     */
+    @Transactional
+    public void created(Order order) {
+        append(order.getOrderId(), order.getStatus(), order.getCreatedAt(), null);
+    }
+
+    /**
+     * Move an order from the expected status to a new one and record the change.
+     * Returns the updatedAt written, or null, recording nothing, when the order is no longer in the expected status.
+     * The in-memory status and updatedAt of the given entity are left to the caller.
+     */
+    @Transactional
+    public LocalDateTime transition(Order order, OrderStatus expected, OrderStatus status, String reason) {
+        // Stored precision, so the returned value matches the column
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (orderRepository.updateStatus(order.getId(), expected, status, now) == 0) {
+            log.warn("Order {} is no longer {}, not moving it to {}", order.getOrderId(), expected, status);
+            return null;
+        }
+        append(order.getOrderId(), status, now, reason);
+        return now;
+    }
+
+    private void append(String orderId, OrderStatus status, LocalDateTime occurredAt, String reason) {
+        eventRepository.save(OrderStatusEvent.builder()
+                .orderId(orderId)
+                .status(status)
+                .occurredAt(occurredAt)
+                .reason(reason)
+                .build());
+    }
+}
@@ -3,24 +3,47 @@ package com.yashas.assignment.order;
 import com.yashas.assignment.order.client.InventoryServiceClient;
 import com.yashas.assignment.order.dto.OrderCreateDto;
 import com.yashas.assignment.order.dto.OrderItemCreateDto;
+import com.yashas.assignment.order.dto.OrderPageDto;
 import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.dto.OrderStatusEventDto;
+import com.yashas.assignment.order.entity.Order;
+import com.yashas.assignment.order.entity.OrderItem;
+import com.yashas.assignment.order.entity.OrderSagaStep;
 import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.entity.SagaStepStatus;
+import com.yashas.assignment.order.metrics.OrderMetrics;
+import com.yashas.assignment.order.repository.OrderRepository;
+import com.yashas.assignment.order.repository.OrderSagaStepRepository;
+import com.yashas.assignment.order.service.OrderSaga;
+import com.yashas.assignment.order.service.OrderPipeline;
 import com.yashas.assignment.order.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -31,9 +54,24 @@ class OrderServiceIntegrationTest {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderPipeline orderPipeline;
+
+    @Autowired
+    private OrderSaga orderSaga;
+
+    @Autowired
+    private OrderSagaStepRepository orderSagaStepRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
     @MockBean
     private InventoryServiceClient inventoryServiceClient;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int poolSize;
+
     private OrderCreateDto orderCreateDto;
 
     @BeforeEach
@@ -51,7 +89,7 @@ class OrderServiceIntegrationTest {
 
         // Default stubbing for integration tests: inventory checks succeed and updates do nothing
         when(inventoryServiceClient.checkInventoryAvailability(anyString())).thenReturn(true);
-        doNothing().when(inventoryServiceClient).updateInventory(anyString(), org.mockito.ArgumentMatchers.anyLong());
+        doNothing().when(inventoryServiceClient).updateInventory(anyString(), org.mockito.ArgumentMatchers.anyLong(), anyString());
     }
 
     @Test
@@ -63,8 +101,10 @@ class OrderServiceIntegrationTest {
         assertNotNull(result);
         assertEquals("CUST-001", result.getCustomerId());
         assertNotNull(result.getOrderId());
+        assertNotNull(result.getUpdatedAt());
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         assertEquals(1, result.getOrderItems().size());
+        assertEquals(result.getUpdatedAt(), orderService.getOrderById(result.getOrderId()).getUpdatedAt());
     }
 
     @Test
@@ -102,7 +142,7 @@ class OrderServiceIntegrationTest {
         orderService.placeOrder(orderCreateDto);
 
         // Act
-        List<OrderResponseDto> results = orderService.getOrdersByCustomerId("CUST-001");
+        List<OrderResponseDto> results = orderService.getOrdersByCustomerId("CUST-001", null, 50).getOrders();
 
         // Assert
         assertNotNull(results);
@@ -113,7 +153,7 @@ class OrderServiceIntegrationTest {
     @Test
     void testGetOrdersByCustomerId_Empty() {
         // Act
-        List<OrderResponseDto> results = orderService.getOrdersByCustomerId("UNKNOWN-CUSTOMER");
+        List<OrderResponseDto> results = orderService.getOrdersByCustomerId("UNKNOWN-CUSTOMER", null, 50).getOrders();
 
         // Assert
         assertNotNull(results);
@@ -155,4 +195,197 @@ class OrderServiceIntegrationTest {
         assertEquals(2, result.getOrderItems().size());
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
     }
+
+    @Test
+    void testGetOrdersByCustomerId_PagesThroughHistory() {
+        // Arrange - Three orders for one customer
+        OrderCreateDto historyOrder = OrderCreateDto.builder()
+                .customerId("CUST-HISTORY")
+                .items(orderCreateDto.getItems())
+                .build();
+        orderService.placeOrder(historyOrder);
+        orderService.placeOrder(historyOrder);
+        orderService.placeOrder(historyOrder);
+
+        // Act
+        OrderPageDto first = orderService.getOrdersByCustomerId("CUST-HISTORY", null, 2);
+        OrderPageDto second = orderService.getOrdersByCustomerId("CUST-HISTORY", first.getNextCursor(), 2);
+
+        // Assert - Pages are disjoint, newest first, and carry their items
+        assertEquals(2, first.getOrders().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getOrders().size());
+        assertNull(second.getNextCursor());
+        assertEquals(1, second.getOrders().get(0).getOrderItems().size());
+        assertTrue(first.getOrders().stream()
+                .noneMatch(o -> o.getOrderId().equals(second.getOrders().get(0).getOrderId())));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testPlaceOrderAsync_CompletesInBackground() throws Exception {
+        // Arrange - Workers run on their own threads and only see committed orders
+        orderCreateDto.setCustomerId("CUST-ASYNC");
+
+        // Act
+        OrderResponseDto accepted = orderPipeline.accept(orderCreateDto);
+
+        // Assert - Accepted as PENDING, then confirmed by a worker
+        assertEquals(OrderStatus.PENDING, accepted.getStatus());
+        OrderStatus status = accepted.getStatus();
+        for (int attempt = 0; attempt < 50 && status == OrderStatus.PENDING; attempt++) {
+            Thread.sleep(100);
+            status = orderService.getOrderById(accepted.getOrderId()).getStatus();
+        }
+        assertEquals(OrderStatus.CONFIRMED, status);
+        assertEquals(1, orderService.getOrderById(accepted.getOrderId()).getOrderItems().size());
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                orderService.getStatusHistory(accepted.getOrderId()).stream().map(OrderStatusEventDto::getStatus).toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testPlaceOrder_MoreConcurrentOrdersThanPooledConnections() throws Exception {
+        // Arrange - Slow inventory calls keep every order in flight at once
+        int clients = poolSize + 10;
+        when(inventoryServiceClient.checkInventoryAvailability(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return true;
+        });
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(inventoryServiceClient).updateInventory(anyString(), org.mockito.ArgumentMatchers.anyLong(), anyString());
+        List<Callable<OrderResponseDto>> orders = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            OrderCreateDto order = OrderCreateDto.builder()
+                    .customerId("CUST-CONCURRENT")
+                    .items(List.of(
+                            OrderItemCreateDto.builder().productId("WHEAT-001").quantity(1L).build(),
+                            OrderItemCreateDto.builder().productId("RICE-001").quantity(1L).build()))
+                    .build();
+            orders.add(() -> orderService.placeOrder(order));
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<OrderResponseDto> results = new ArrayList<>();
+        try {
+            for (Future<OrderResponseDto> result : executor.invokeAll(orders)) {
+                results.add(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert - No order held a connection across its inventory calls, so none waited out the pool
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void testClaimPendingOrder_OneWorkerAtATime() {
+        // Arrange
+        OrderResponseDto accepted = orderService.acceptOrder(orderCreateDto);
+
+        // Act
+        boolean first = orderService.claimPendingOrder(accepted.getOrderId(), Duration.ofMinutes(1));
+        boolean second = orderService.claimPendingOrder(accepted.getOrderId(), Duration.ofMinutes(1));
+
+        // Assert - A freshly accepted and claimed order is neither claimable nor stale
+        assertTrue(first);
+        assertFalse(second);
+        assertFalse(orderService.findStalePendingOrderIds(Duration.ofMinutes(1), 100).contains(accepted.getOrderId()));
+    }
+
+    @Test
+    void testPlaceOrder_FailedLineCompensatesEveryDeduction() {
+        // Arrange - The second of three lines is rejected by the Inventory Service
+        List<OrderItemCreateDto> items = new ArrayList<>();
+        for (String productId : List.of("WHEAT-001", "RICE-001", "CORN-001")) {
+            items.add(OrderItemCreateDto.builder().productId(productId).quantity(10L).build());
+        }
+        doThrow(new RuntimeException("Insufficient total quantity"))
+                .when(inventoryServiceClient).updateInventory(eq("RICE-001"), org.mockito.ArgumentMatchers.anyLong(), anyString());
+
+        // Act
+        OrderResponseDto result = orderService.placeOrder(OrderCreateDto.builder()
+                .customerId("CUST-SAGA")
+                .items(items)
+                .build());
+
+        // Assert - Every step is restored, including the one that never landed
+        assertEquals(OrderStatus.FAILED, result.getStatus());
+        for (int i = 0; i < items.size(); i++) {
+            verify(inventoryServiceClient).restoreInventory(items.get(i).getProductId(),
+                    OrderSaga.stepReference(result.getOrderId(), i));
+        }
+        assertEquals(3, orderSagaStepRepository.findByOrderIdAndStatus(result.getOrderId(),
+                SagaStepStatus.COMPENSATED).size());
+        List<OrderStatusEventDto> history = orderService.getStatusHistory(result.getOrderId());
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.FAILED),
+                history.stream().map(OrderStatusEventDto::getStatus).toList());
+        assertEquals(OrderMetrics.FAILURE_INVENTORY_UPDATE, history.get(1).getReason());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testRecoverStaleSagas_CompensatesOrdersThatNeverCommitted() {
+        // Arrange - Steps of an order whose transaction died with the process
+        LocalDateTime crashedAt = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 2; i++) {
+            orderSagaStepRepository.save(OrderSagaStep.builder()
+                    .orderId("ORD-CRASHED")
+                    .reference(OrderSaga.stepReference("ORD-CRASHED", i))
+                    .productId("WHEAT-001")
+                    .quantity(5L)
+                    .status(SagaStepStatus.PENDING)
+                    .updatedAt(crashedAt)
+                    .build());
+        }
+
+        // Act
+        orderSaga.recoverStaleSagas();
+
+        // Assert
+        verify(inventoryServiceClient).restoreInventory("WHEAT-001", "ORD-CRASHED-0");
+        verify(inventoryServiceClient).restoreInventory("WHEAT-001", "ORD-CRASHED-1");
+        assertEquals(2, orderSagaStepRepository.findByOrderIdAndStatus("ORD-CRASHED",
+                SagaStepStatus.COMPENSATED).size());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testRetryStalePendingOrders_FinishesSagaOfCrashedWorker() throws Exception {
+        // Arrange - An accepted order whose worker recorded its saga step and then died
+        LocalDateTime crashedAt = LocalDateTime.now().minusHours(1);
+        Order order = Order.builder()
+                .orderId("ORD-STALE")
+                .customerId("CUST-STALE")
+                .status(OrderStatus.PENDING)
+                .createdAt(crashedAt)
+                .build();
+        order.setOrderItems(List.of(OrderItem.builder().order(order).productId("WHEAT-001").quantity(5L).build()));
+        orderRepository.save(order);
+        orderSagaStepRepository.save(OrderSagaStep.builder()
+                .orderId("ORD-STALE")
+                .reference(OrderSaga.stepReference("ORD-STALE", 0))
+                .productId("WHEAT-001")
+                .quantity(5L)
+                .status(SagaStepStatus.PENDING)
+                .updatedAt(crashedAt)
+                .build());
+
+        // Act
+        orderPipeline.retryStalePendingOrders();
+
+        // Assert - Retried with the same reference, confirmed, and the saga completed rather than leaked
+        OrderStatus status = OrderStatus.PENDING;
+        for (int attempt = 0; attempt < 50 && status == OrderStatus.PENDING; attempt++) {
+            Thread.sleep(100);
+            status = orderService.getOrderById("ORD-STALE").getStatus();
+        }
+        assertEquals(OrderStatus.CONFIRMED, status);
+        verify(inventoryServiceClient).updateInventory("WHEAT-001", 5L, "ORD-STALE-0");
+        assertEquals(1, orderSagaStepRepository.findByOrderIdAndStatus("ORD-STALE", SagaStepStatus.COMPLETED).size());
+    }
 }
@@ -0,0 +1,116 @@
+package com.yashas.assignment.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yashas.assignment.order.client.InventoryServiceClient;
+import com.yashas.assignment.order.dto.OrderCreateDto;
+import com.yashas.assignment.order.dto.OrderItemCreateDto;
+import com.yashas.assignment.testsupport.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budgets per endpoint.
+ * Requests run outside a test transaction so every statement, including flushes at commit, is counted.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.yashas.assignment.testsupport.SqlStatementRecorder"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private InventoryServiceClient inventoryServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryServiceClient.checkInventoryAvailability(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void testPlaceOrderBudget() throws Exception {
+        // First transaction: order insert, one batched item insert, status event insert, one batched step insert.
+        // Second: status update and status event insert. Then the saga completion update.
+        // Independent of the number of lines; id sequence fetches, one per 50 rows, are not counted
+        assertBudget("POST /api/order (1 line)", 7, placeOrderRequest("CUST-BUDGET-1", 1), status().isCreated());
+        assertBudget("POST /api/order (3 lines)", 7, placeOrderRequest("CUST-BUDGET-1", 3), status().isCreated());
+        assertBudget("POST /api/order (20 lines)", 7, placeOrderRequest("CUST-BUDGET-1", 20), status().isCreated());
+    }
+
+    @Test
+    void testGetOrderBudget() throws Exception {
+        String body = mockMvc.perform(placeOrderRequest("CUST-BUDGET-2", 3))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String orderId = objectMapper.readTree(body).get("orderId").asText();
+
+        // Order row plus its items
+        assertBudget("GET /api/order/{orderId}", 2, get("/api/order/" + orderId), status().isOk());
+        // Confirmed, so served from the response cache from now on
+        assertBudget("GET /api/order/{orderId} (cached)", 0, get("/api/order/" + orderId), status().isOk());
+    }
+
+    @Test
+    void testCustomerHistoryBudget() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(placeOrderRequest("CUST-BUDGET-3", 2)).andExpect(status().isCreated());
+        }
+
+        // One page query plus one batched item query, independent of orders per page
+        assertBudget("GET /api/order/customer/{customerId}", 2,
+                get("/api/order/customer/CUST-BUDGET-3"), status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder placeOrderRequest(String customerId, int lines) throws Exception {
+        List<OrderItemCreateDto> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(OrderItemCreateDto.builder()
+                    .productId("PRODUCT-" + i)
+                    .quantity(10L)
+                    .build());
+        }
+        return post("/api/order")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(OrderCreateDto.builder()
+                        .customerId(customerId)
+                        .items(items)
+                        .build()));
+    }
+
+    private void assertBudget(String endpoint, int maxStatements, MockHttpServletRequestBuilder request,
+                              ResultMatcher expectedStatus) throws Exception {
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            mockMvc.perform(request).andExpect(expectedStatus);
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        statements.removeIf(sql -> sql.startsWith("select next value for"));
+        SqlStatementRecorder.assertWithinBudget(endpoint, maxStatements, statements);
+    }
+}
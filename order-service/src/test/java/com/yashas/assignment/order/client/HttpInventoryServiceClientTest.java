@@ -0,0 +1,175 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HttpInventoryServiceClientTest {
+
+    private static final String PRODUCT_URL = "http://inventory/inventory/WHEAT-001";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(
+            CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofMillis(100))
+                    .permittedNumberOfCallsInHalfOpenState(1)
+                    .ignoreExceptions(HttpClientErrorException.class)
+                    .build());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCheckInventoryAvailability_OpenCircuitFailsFastThenProbes() throws Exception {
+        // Arrange - The Inventory Service is down
+        HttpInventoryServiceClient client = newClient(BulkheadRegistry.ofDefaults());
+        when(restTemplate.getForObject(PRODUCT_URL, Object.class))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(InventoryUnavailableException.class, () -> client.checkInventoryAvailability("WHEAT-001"));
+        }
+
+        // Act - Calls while the circuit is open are not sent
+        InventoryUnavailableException exception = assertThrows(InventoryUnavailableException.class,
+                () -> client.checkInventoryAvailability("WHEAT-001"));
+
+        // Assert
+        assertEquals("Inventory Service circuit breaker is open", exception.getMessage());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker().getState());
+        verify(restTemplate, times(4)).getForObject(PRODUCT_URL, Object.class);
+        assertEquals(1.0, rejections("circuit_open"));
+
+        // Act - After the open wait a successful probe closes the circuit
+        reset(restTemplate);
+        when(restTemplate.getForObject(PRODUCT_URL, Object.class)).thenReturn("{}");
+        Thread.sleep(150);
+
+        // Assert
+        assertTrue(client.checkInventoryAvailability("WHEAT-001"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker().getState());
+    }
+
+    @Test
+    void testCheckInventoryAvailability_ClientErrorsDoNotOpenCircuit() {
+        // Arrange
+        HttpInventoryServiceClient client = newClient(BulkheadRegistry.ofDefaults());
+        when(restTemplate.getForObject(anyString(), eq(Object.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Act & Assert - Unknown products are answers, not failures
+        for (int i = 0; i < 10; i++) {
+            assertFalse(client.checkInventoryAvailability("UNKNOWN"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker().getState());
+    }
+
+    @Test
+    void testCheckInventoryAvailability_FullBulkheadFailsFast() throws Exception {
+        // Arrange - One permitted call, held inside the Inventory Service
+        HttpInventoryServiceClient client = newClient(BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build()));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(PRODUCT_URL, Object.class)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "{}";
+        });
+        CompletableFuture<Boolean> held = CompletableFuture.supplyAsync(
+                () -> client.checkInventoryAvailability("WHEAT-001"), executor);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        InventoryUnavailableException exception = assertThrows(InventoryUnavailableException.class,
+                () -> client.checkInventoryAvailability("WHEAT-001"));
+        release.countDown();
+
+        // Assert
+        assertEquals("Too many concurrent Inventory Service calls", exception.getMessage());
+        assertTrue(held.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, rejections("bulkhead_full"));
+        verify(restTemplate, times(1)).getForObject(PRODUCT_URL, Object.class);
+    }
+
+    @Test
+    void testCheckInventoryAvailability_BulkheadRejectionsDoNotOpenCircuit() throws Exception {
+        // Arrange - One permitted call, held inside the Inventory Service
+        HttpInventoryServiceClient client = newClient(BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build()));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(PRODUCT_URL, Object.class)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "{}";
+        });
+        CompletableFuture<Boolean> held = CompletableFuture.supplyAsync(
+                () -> client.checkInventoryAvailability("WHEAT-001"), executor);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act - A local burst, more than the circuit breaker's minimum number of calls
+        for (int i = 0; i < 10; i++) {
+            assertThrows(InventoryUnavailableException.class, () -> client.checkInventoryAvailability("WHEAT-001"));
+        }
+        release.countDown();
+
+        // Assert - Nothing was sent, so nothing was recorded against the Inventory Service
+        assertTrue(held.get(5, TimeUnit.SECONDS));
+        assertEquals(10.0, rejections("bulkhead_full"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker().getState());
+        assertEquals(0, circuitBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    private HttpInventoryServiceClient newClient(BulkheadRegistry bulkheadRegistry) {
+        return new HttpInventoryServiceClient(restTemplate, "http://inventory", executor, meterRegistry,
+                circuitBreakerRegistry, bulkheadRegistry, false, 50, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(HttpInventoryServiceClient.RESILIENCE_INSTANCE);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("order.inventory.calls.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,174 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.dto.InventoryUpdateDto;
+import com.yashas.assignment.order.dto.InventoryUpdateResultDto;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryDeductionBatcherTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final DistributionSummary batchSizes = new SimpleMeterRegistry().summary("order.inventory.batch.size");
+    private InventoryDeductionBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSubmit_ConcurrentDeductionsAreCoalesced() throws Exception {
+        // Arrange - 200 deductions from concurrent orders
+        AtomicInteger requests = new AtomicInteger();
+        batcher = new InventoryDeductionBatcher(updates -> {
+            requests.incrementAndGet();
+            return succeedAll(updates);
+        }, executor, batchSizes, 50, Duration.ofMillis(20));
+
+        // Act
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(batcher.submit(deduction("WHEAT-001", 1L)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Assert - A handful of multi-entry requests instead of 200 single ones
+        assertTrue(requests.get() <= 8, "Sent " + requests.get() + " requests");
+        assertEquals(200, (long) batchSizes.totalAmount());
+        assertTrue(batchSizes.max() <= 50);
+    }
+
+    @Test
+    void testSubmit_RejectedEntryFailsOnlyItsCaller() throws Exception {
+        // Arrange - Inventory Service rejects RICE-001
+        batcher = new InventoryDeductionBatcher(updates -> {
+            List<InventoryUpdateResultDto> results = new ArrayList<>();
+            for (InventoryUpdateDto update : updates) {
+                boolean rejected = "RICE-001".equals(update.getProductId());
+                results.add(InventoryUpdateResultDto.builder()
+                        .success(!rejected)
+                        .error(rejected ? "Insufficient total quantity" : null)
+                        .build());
+            }
+            return results;
+        }, executor, batchSizes, 50, Duration.ofMillis(20));
+
+        // Act
+        CompletableFuture<Void> wheat = batcher.submit(deduction("WHEAT-001", 10L));
+        CompletableFuture<Void> rice = batcher.submit(deduction("RICE-001", 10L));
+
+        // Assert
+        assertNull(wheat.get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> rice.get(5, TimeUnit.SECONDS));
+        assertEquals("Insufficient total quantity", failure.getCause().getMessage());
+    }
+
+    @Test
+    void testSubmit_TransportErrorFailsWholeBatch() {
+        // Arrange
+        Function<List<InventoryUpdateDto>, List<InventoryUpdateResultDto>> sender = updates -> {
+            throw new ResourceAccessException("Connection refused");
+        };
+        batcher = new InventoryDeductionBatcher(sender, executor, batchSizes, 50, Duration.ofMillis(20));
+
+        // Act
+        CompletableFuture<Void> first = batcher.submit(deduction("WHEAT-001", 1L));
+        CompletableFuture<Void> second = batcher.submit(deduction("RICE-001", 1L));
+
+        // Assert
+        for (CompletableFuture<Void> future : List.of(first, second)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceAccessException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    void testSubmit_RejectedDispatchFailsBatchWithoutBlockingCoalescing() throws Exception {
+        // Arrange - The dispatch executor refuses the first batch, then has room again
+        AtomicInteger dispatches = new AtomicInteger();
+        Executor refusingOnce = task -> {
+            if (dispatches.getAndIncrement() == 0) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            executor.execute(task);
+        };
+        List<String> senderThreads = new ArrayList<>();
+        batcher = new InventoryDeductionBatcher(updates -> {
+            senderThreads.add(Thread.currentThread().getName());
+            return succeedAll(updates);
+        }, refusingOnce, batchSizes, 50, Duration.ofMillis(20));
+
+        // Act
+        CompletableFuture<Void> refused = batcher.submit(deduction("WHEAT-001", 1L));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> refused.get(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> next = batcher.submit(deduction("RICE-001", 1L));
+
+        // Assert - Refused as unavailable, never sent by the flusher itself, and the next batch goes out
+        assertInstanceOf(InventoryUnavailableException.class, failure.getCause());
+        assertNull(next.get(5, TimeUnit.SECONDS));
+        assertEquals(1, senderThreads.size());
+        assertNotEquals("inventory-deduction-batcher", senderThreads.get(0));
+    }
+
+    @Test
+    void testSubmit_EachEntryCarriesItsOwnRemainingBudget() throws Exception {
+        // Arrange - Two callers with different budgets and one without a deadline share a batch
+        List<InventoryUpdateDto> sent = new ArrayList<>();
+        batcher = new InventoryDeductionBatcher(updates -> {
+            sent.addAll(updates);
+            return succeedAll(updates);
+        }, executor, batchSizes, 50, Duration.ofMillis(50));
+
+        // Act
+        CompletableFuture<Void> shortBudget = RequestDeadline.supplyWithin(
+                RequestDeadline.after(Duration.ofSeconds(2)), () -> batcher.submit(deduction("WHEAT-001", 1L)));
+        CompletableFuture<Void> longBudget = RequestDeadline.supplyWithin(
+                RequestDeadline.after(Duration.ofSeconds(30)), () -> batcher.submit(deduction("RICE-001", 1L)));
+        CompletableFuture<Void> unbounded = batcher.submit(deduction("CORN-001", 1L));
+        CompletableFuture.allOf(shortBudget, longBudget, unbounded).get(5, TimeUnit.SECONDS);
+
+        // Assert - The short budget is sent as is, not raised to the batch's latest deadline
+        assertEquals(3, sent.size());
+        assertTrue(sent.get(0).getBudgetMillis() > 0 && sent.get(0).getBudgetMillis() <= 2000);
+        assertTrue(sent.get(1).getBudgetMillis() > 2000 && sent.get(1).getBudgetMillis() <= 30000);
+        assertNull(sent.get(2).getBudgetMillis());
+    }
+
+    private static InventoryUpdateDto deduction(String productId, Long quantity) {
+        return InventoryUpdateDto.builder()
+                .productId(productId)
+                .batchId("ORDER_REDUCTION")
+                .quantity(quantity)
+                .build();
+    }
+
+    private static List<InventoryUpdateResultDto> succeedAll(List<InventoryUpdateDto> updates) {
+        List<InventoryUpdateResultDto> results = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            results.add(InventoryUpdateResultDto.builder().success(true).build());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,97 @@
+package com.yashas.assignment.order.client;
+
+import com.yashas.assignment.order.config.AppConfiguration;
+import com.yashas.assignment.order.config.UnixSocketTransportConfiguration;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.unix.DomainSocketAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryUnixSocketTransportTest {
+
+    @TempDir
+    Path socketDir;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, String> requestHeaders = new ConcurrentHashMap<>();
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private HttpInventoryServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        String socketPath = socketDir.resolve("inventory.sock").toString();
+        server = HttpServer.create()
+                .bindAddress(() -> new DomainSocketAddress(socketPath))
+                .route(routes -> routes
+                        .get("/inventory/WHEAT-001", (request, response) -> {
+                            requestHeaders.put("Host", request.requestHeaders().get("Host"));
+                            requestHeaders.put(RequestDeadline.HEADER, request.requestHeaders().get(RequestDeadline.HEADER));
+                            return response.header("Content-Type", "application/json").sendString(Mono.just("[]"));
+                        })
+                        .get("/inventory/SLOW-001", (request, response) -> response.sendString(
+                                Mono.just("[]").delayElement(Duration.ofSeconds(2)))))
+                .bindNow();
+
+        UnixSocketTransportConfiguration transport = new UnixSocketTransportConfiguration();
+        connectionProvider = transport.inventoryUnixConnectionProvider(4, Duration.ofMillis(500),
+                Duration.ofSeconds(30), Duration.ofMinutes(5));
+        client = new HttpInventoryServiceClient(
+                new AppConfiguration().restTemplate(transport.inventoryRequestFactory(connectionProvider, "http://localhost:8081", socketPath,
+                        Duration.ofSeconds(1), Duration.ofMillis(500), Duration.ofSeconds(3)), "json"),
+                "http://localhost:8081", executor, new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                false, 50, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+        connectionProvider.dispose();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCheckInventoryAvailability_OverUnixDomainSocket() {
+        // Act
+        boolean available = RequestDeadline.supplyWithin(RequestDeadline.after(Duration.ofSeconds(2)),
+                () -> client.checkInventoryAvailability("WHEAT-001"));
+
+        // Assert - Same path, Host and deadline header as over TCP
+        assertTrue(available);
+        assertEquals("localhost:8081", requestHeaders.get("Host"));
+        long budgetMillis = Long.parseLong(requestHeaders.get(RequestDeadline.HEADER));
+        assertTrue(budgetMillis > 0 && budgetMillis <= 2000, "budget " + budgetMillis);
+    }
+
+    @Test
+    void testCheckInventoryAvailability_StopsWaitingAtRequestDeadline() {
+        // Arrange
+        long start = System.nanoTime();
+
+        // Act
+        assertThrows(InventoryUnavailableException.class, () -> RequestDeadline.supplyWithin(
+                RequestDeadline.after(Duration.ofMillis(200)), () -> client.checkInventoryAvailability("SLOW-001")));
+
+        // Assert - The response timeout follows the budget, not the 3s read timeout
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+}
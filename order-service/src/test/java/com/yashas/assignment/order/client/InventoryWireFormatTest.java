@@ -0,0 +1,119 @@
+package com.yashas.assignment.order.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.yashas.assignment.order.config.AppConfiguration;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class InventoryWireFormatTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testUpdateInventory_SendsSmile() throws Exception {
+        // Arrange
+        RestTemplate restTemplate = restTemplate("smile");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://inventory/inventory/update"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(SMILE))
+                .andExpect(request -> {
+                    Map<?, ?> body = smileMapper.readValue(((MockClientHttpRequest) request).getBodyAsBytes(), Map.class);
+                    assertEquals("WHEAT-001", body.get("productId"));
+                    assertEquals("ORD-1-0", body.get("reference"));
+                })
+                .andRespond(withStatus(HttpStatus.CREATED)
+                        .contentType(SMILE)
+                        .body(smileMapper.writeValueAsBytes(batch(900))));
+
+        // Act
+        newClient(restTemplate, false).updateInventory("WHEAT-001", 100L, "ORD-1-0");
+
+        // Assert
+        server.verify();
+    }
+
+    @Test
+    void testBatchedDeduction_ReadsSmileResults() throws Exception {
+        // Arrange - Results carry the inventory's full batch, which the order side ignores
+        RestTemplate restTemplate = restTemplate("smile");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://inventory/inventory/update/batch"))
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header("Accept", startsWith(SMILE.toString())))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(List.of(
+                        Map.of("success", true, "batch", batch(900)))), SMILE));
+        HttpInventoryServiceClient client = newClient(restTemplate, true);
+
+        // Act
+        client.updateInventory("WHEAT-001", 100L, "ORD-1-0");
+        client.shutdown();
+
+        // Assert
+        server.verify();
+    }
+
+    @Test
+    void testCheckInventoryAvailability_JsonWireFormat() throws Exception {
+        // Arrange
+        RestTemplate restTemplate = restTemplate("json");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://inventory/inventory/WHEAT-001"))
+                .andExpect(header("Accept", startsWith(MediaType.APPLICATION_JSON_VALUE)))
+                .andRespond(withSuccess(new ObjectMapper().writeValueAsString(List.of(batch(900))),
+                        MediaType.APPLICATION_JSON));
+
+        // Act
+        boolean available = newClient(restTemplate, false).checkInventoryAvailability("WHEAT-001");
+
+        // Assert
+        assertTrue(available);
+        server.verify();
+    }
+
+    private RestTemplate restTemplate(String wireFormat) {
+        return new AppConfiguration().restTemplate(new HttpComponentsClientHttpRequestFactory(), wireFormat);
+    }
+
+    private HttpInventoryServiceClient newClient(RestTemplate restTemplate, boolean batchEnabled) {
+        return new HttpInventoryServiceClient(restTemplate, "http://inventory", executor, new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                batchEnabled, 50, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private static Map<String, Object> batch(long quantity) {
+        return Map.of("id", 1, "batchId", "WHEAT-B001", "productId", "WHEAT-001",
+                "quantity", quantity, "expiryDate", "2026-12-31");
+    }
+}
@@ -0,0 +1,149 @@
+package com.yashas.assignment.order.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The pooled inventory HTTP client against a stub Inventory Service.
+ */
+class AppConfigurationTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(200);
+
+    private final AppConfiguration appConfiguration = new AppConfiguration();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+    private String baseUrl;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/fast", exchange -> respond(exchange));
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        // One connection for the inventory route
+        connectionManager = appConfiguration.inventoryConnectionManager(baseUrl, 200, 20, 1,
+                Duration.ofMinutes(5), Duration.ofSeconds(1), READ_TIMEOUT);
+        RequestConfig requestConfig = appConfiguration.inventoryRequestConfig(ACQUIRE_TIMEOUT, READ_TIMEOUT);
+        httpClient = appConfiguration.inventoryHttpClient(connectionManager, requestConfig, Duration.ofSeconds(30));
+        restTemplate = appConfiguration.restTemplate(
+                appConfiguration.inventoryRequestFactory(httpClient, requestConfig, READ_TIMEOUT), "json");
+        appConfiguration.inventoryConnectionPoolMetrics(connectionManager).bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void testSlowResponseFailsWithinReadTimeout() {
+        // Act
+        long started = System.nanoTime();
+        ResourceAccessException failure = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert
+        assertInstanceOf(SocketTimeoutException.class, failure.getCause());
+        assertTrue(elapsedMillis >= READ_TIMEOUT.toMillis() && elapsedMillis < 3000, "Took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testExhaustedRouteFailsWithinAcquireTimeout() throws Exception {
+        // Arrange - The route's only connection is held by a request the stub has not answered yet
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> {
+            try {
+                return restTemplate.getForObject(baseUrl + "/slow", String.class);
+            } catch (ResourceAccessException e) {
+                return null;
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (leased() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, leased());
+
+        // Act
+        long started = System.nanoTime();
+        ResourceAccessException failure = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(baseUrl + "/fast", String.class));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert - Refused by the pool before the read timeout could apply
+        assertInstanceOf(ConnectionRequestTimeoutException.class, failure.getCause());
+        assertTrue(elapsedMillis >= ACQUIRE_TIMEOUT.toMillis() && elapsedMillis < READ_TIMEOUT.toMillis(),
+                "Took " + elapsedMillis + " ms");
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testPoolGaugesAreRegistered() {
+        // Act
+        restTemplate.getForObject(baseUrl + "/fast", String.class);
+
+        // Assert
+        assertEquals(200.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "inventory").gauge().value());
+        assertEquals(1.0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "inventory", "state", "available").gauge().value());
+        assertEquals(0.0, leased());
+        assertNotNull(registry.find("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "inventory").gauge());
+    }
+
+    private double leased() {
+        return registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "inventory", "state", "leased").gauge().value();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
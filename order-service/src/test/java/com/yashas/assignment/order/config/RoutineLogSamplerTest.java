@@ -0,0 +1,82 @@
+package com.yashas.assignment.order.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutineLogSamplerTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        RoutineLogSampler sampler = new RoutineLogSampler();
+        sampler.addLogger("com.example.controller");
+        sampler.setOneIn(3);
+        sampler.start();
+        context.addTurboFilter(sampler);
+
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @Test
+    void testDecide_KeepsOneInNPerStatement() {
+        // Arrange
+        Logger logger = context.getLogger("com.example.controller.OrderController");
+
+        // Act
+        for (int i = 0; i < 7; i++) {
+            logger.info("GET request for order: {}", "ORD-" + i);
+        }
+        logger.info("GET request for orders of customer: {}", "CUST-001");
+
+        // Assert - Requests 0, 3 and 6 of the first statement, and the first of the second
+        assertEquals(List.of("GET request for order: ORD-0", "GET request for order: ORD-3",
+                        "GET request for order: ORD-6", "GET request for orders of customer: CUST-001"),
+                messages());
+    }
+
+    @Test
+    void testDecide_AlwaysKeepsWarningsAndErrors() {
+        // Arrange
+        Logger logger = context.getLogger("com.example.controller.OrderController");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            logger.warn("Order {} rejected", i);
+            logger.error("Order {} failed", i, new IllegalStateException("boom"));
+            logger.info("Order {} failed", i, new IllegalStateException("boom"));
+        }
+
+        // Assert
+        assertEquals(9, appender.list.size());
+    }
+
+    @Test
+    void testDecide_IgnoresOtherLoggers() {
+        // Arrange
+        Logger logger = context.getLogger("com.example.controllers.Other");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            logger.info("Order {} received", i);
+        }
+
+        // Assert
+        assertEquals(3, appender.list.size());
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
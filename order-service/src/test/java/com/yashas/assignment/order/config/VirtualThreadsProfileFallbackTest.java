@@ -0,0 +1,70 @@
+package com.yashas.assignment.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.DeferredLogs;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsProfileFallbackTest {
+
+    private final VirtualThreadsProfileFallback fallback = new VirtualThreadsProfileFallback(new DeferredLogs());
+
+    @Test
+    void testApply_OlderRuntimeDropsProfileSizing() {
+        // Arrange
+        StandardEnvironment environment = environmentWithProfile();
+
+        // Act
+        fallback.apply(environment, 17);
+
+        // Assert - Back to the default pool, virtual threads off
+        assertEquals("20", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals(Boolean.FALSE, environment.getProperty("spring.threads.virtual.enabled", Boolean.class));
+    }
+
+    @Test
+    void testApply_Java21KeepsProfile() {
+        // Arrange
+        StandardEnvironment environment = environmentWithProfile();
+
+        // Act
+        fallback.apply(environment, 21);
+
+        // Assert
+        assertEquals("100", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals(Boolean.TRUE, environment.getProperty("spring.threads.virtual.enabled", Boolean.class));
+    }
+
+    @Test
+    void testApply_PlatformModeUntouched() {
+        // Arrange
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource(configResource("application.properties"),
+                Map.of("spring.threads.virtual.enabled", "false", "spring.datasource.hikari.maximum-pool-size", "20")));
+
+        // Act
+        fallback.apply(environment, 17);
+
+        // Assert
+        assertFalse(environment.getPropertySources().contains("virtualThreadsUnavailable"));
+        assertEquals("20", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+    }
+
+    private static StandardEnvironment environmentWithProfile() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource(
+                configResource("application-virtual-threads.properties"),
+                Map.of("spring.threads.virtual.enabled", "true", "spring.datasource.hikari.maximum-pool-size", "100")));
+        environment.getPropertySources().addLast(new MapPropertySource(configResource("application.properties"),
+                Map.of("spring.threads.virtual.enabled", "false", "spring.datasource.hikari.maximum-pool-size", "20")));
+        return environment;
+    }
+
+    private static String configResource(String file) {
+        return "Config resource 'class path resource [" + file + "]' via location 'optional:classpath:/'";
+    }
+}
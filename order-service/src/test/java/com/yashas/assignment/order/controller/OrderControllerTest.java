@@ -3,29 +3,41 @@ package com.yashas.assignment.order.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yashas.assignment.order.client.RequestDeadline;
 import com.yashas.assignment.order.dto.OrderCreateDto;
 import com.yashas.assignment.order.dto.OrderItemCreateDto;
+import com.yashas.assignment.order.dto.OrderPageDto;
 import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.dto.OrderStatusEventDto;
 import com.yashas.assignment.order.entity.OrderStatus;
 import com.yashas.assignment.order.exception.GlobalExceptionHandler;
+import com.yashas.assignment.order.exception.OrderBacklogFullException;
+import com.yashas.assignment.order.service.OrderPipeline;
+import com.yashas.assignment.order.service.OrderResponseCache;
 import com.yashas.assignment.order.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,8 +51,8 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
-    @InjectMocks
-    private OrderController orderController;
+    @Mock
+    private OrderPipeline orderPipeline;
 
     private ObjectMapper objectMapper;
     private OrderResponseDto orderResponseDto;
@@ -51,13 +63,21 @@ class OrderControllerTest {
         LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
         validator.afterPropertiesSet();
 
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        OrderResponseCache orderResponseCache = new OrderResponseCache(
+                objectMapper, new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+
+        OrderController orderController = new OrderController(
+                orderService, orderPipeline, orderResponseCache, Duration.ofSeconds(5));
+        // Responses are written with the same ObjectMapper as cached bodies, as in the application
         mockMvc = MockMvcBuilders.standaloneSetup(orderController)
+                .setMessageConverters(new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .setValidator(validator)
                 .build();
-        objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         List<OrderItemCreateDto> items = new ArrayList<>();
         items.add(OrderItemCreateDto.builder()
                 .productId("WHEAT-001")
@@ -174,6 +194,37 @@ class OrderControllerTest {
         verify(orderService, times(1)).getOrderById("ORD-12345");
     }
 
+    @Test
+    void testGetOrderById_FinalizedOrderServedFromCache() throws Exception {
+        // Arrange
+        when(orderService.getOrderById("ORD-12345")).thenReturn(orderResponseDto);
+        String first = mockMvc.perform(get("/api/order/ORD-12345"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Act & Assert - The same body, without asking the service again
+        mockMvc.perform(get("/api/order/ORD-12345").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(first, true));
+
+        verify(orderService, times(1)).getOrderById("ORD-12345");
+    }
+
+    @Test
+    void testGetOrderById_PendingOrderNotCached() throws Exception {
+        // Arrange - A pending order can still change
+        orderResponseDto.setStatus(OrderStatus.PENDING);
+        when(orderService.getOrderById("ORD-12345")).thenReturn(orderResponseDto);
+
+        // Act
+        mockMvc.perform(get("/api/order/ORD-12345")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/order/ORD-12345")).andExpect(status().isOk());
+
+        // Assert
+        verify(orderService, times(2)).getOrderById("ORD-12345");
+    }
+
     @Test
     void testGetOrderById_NotFound() throws Exception {
         // Arrange
@@ -188,34 +239,60 @@ class OrderControllerTest {
         verify(orderService, times(1)).getOrderById("NONEXISTENT");
     }
 
+    @Test
+    void testGetOrderStatusHistory_Success() throws Exception {
+        // Arrange
+        LocalDateTime created = LocalDateTime.now();
+        when(orderService.getStatusHistory("ORD-12345")).thenReturn(List.of(
+                OrderStatusEventDto.builder().status(OrderStatus.PENDING).occurredAt(created).build(),
+                OrderStatusEventDto.builder().status(OrderStatus.CONFIRMED).occurredAt(created.plusSeconds(1)).build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/order/ORD-12345/status-history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", equalTo("PENDING")))
+                .andExpect(jsonPath("$[1].status", equalTo("CONFIRMED")));
+    }
+
     @Test
     void testGetOrdersByCustomerId_Success() throws Exception {
         // Arrange
-        List<OrderResponseDto> orders = Arrays.asList(orderResponseDto);
-        when(orderService.getOrdersByCustomerId("CUST-001")).thenReturn(orders);
+        OrderPageDto page = OrderPageDto.builder()
+                .orders(Arrays.asList(orderResponseDto))
+                .nextCursor("NEXT")
+                .build();
+        when(orderService.getOrdersByCustomerId("CUST-001", null, 50)).thenReturn(page);
 
         // Act & Assert
         mockMvc.perform(get("/api/order/customer/CUST-001")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "NEXT"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].customerId", equalTo("CUST-001")));
 
-        verify(orderService, times(1)).getOrdersByCustomerId("CUST-001");
+        verify(orderService, times(1)).getOrdersByCustomerId("CUST-001", null, 50);
     }
 
     @Test
     void testGetOrdersByCustomerId_Empty() throws Exception {
         // Arrange
-        when(orderService.getOrdersByCustomerId("UNKNOWN")).thenReturn(new ArrayList<>());
+        OrderPageDto page = OrderPageDto.builder()
+                .orders(new ArrayList<>())
+                .build();
+        when(orderService.getOrdersByCustomerId("UNKNOWN", "CURSOR", 10)).thenReturn(page);
 
         // Act & Assert
         mockMvc.perform(get("/api/order/customer/UNKNOWN")
+                .param("cursor", "CURSOR")
+                .param("limit", "10")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(orderService, times(1)).getOrdersByCustomerId("UNKNOWN");
+        verify(orderService, times(1)).getOrdersByCustomerId("UNKNOWN", "CURSOR", 10);
     }
 
     @Test
@@ -231,4 +308,67 @@ class OrderControllerTest {
 
         verify(orderService, never()).placeOrder(any(OrderCreateDto.class));
     }
+
+    @Test
+    void testPlaceOrderAsync_Accepted() throws Exception {
+        // Arrange
+        orderResponseDto.setStatus(OrderStatus.PENDING);
+        when(orderPipeline.accept(any(OrderCreateDto.class))).thenReturn(orderResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/order/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderCreateDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/order/ORD-12345"))
+                .andExpect(jsonPath("$.status", equalTo("PENDING")));
+
+        verify(orderService, never()).placeOrder(any(OrderCreateDto.class));
+    }
+
+    @Test
+    void testPlaceOrderAsync_BacklogFull() throws Exception {
+        // Arrange
+        when(orderPipeline.accept(any(OrderCreateDto.class)))
+                .thenThrow(new OrderBacklogFullException("Order backlog is full, retry later"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/order/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderCreateDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testPlaceOrder_RunsWithinCallerBudget() throws Exception {
+        // Arrange
+        List<Duration> remaining = new ArrayList<>();
+        when(orderService.placeOrder(any(OrderCreateDto.class))).thenAnswer(invocation -> {
+            remaining.add(RequestDeadline.remaining());
+            return orderResponseDto;
+        });
+
+        // Act & Assert - The caller's 200ms is shorter than the configured 5s
+        mockMvc.perform(post("/api/order")
+                .header(RequestDeadline.HEADER, "200")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderCreateDto)))
+                .andExpect(status().isCreated());
+
+        assertFalse(remaining.get(0).isNegative());
+        assertTrue(remaining.get(0).toMillis() <= 200);
+    }
+
+    @Test
+    void testPlaceOrder_ExpiredBudget() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/order")
+                .header(RequestDeadline.HEADER, "0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderCreateDto)))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(orderService, never()).placeOrder(any(OrderCreateDto.class));
+    }
 }
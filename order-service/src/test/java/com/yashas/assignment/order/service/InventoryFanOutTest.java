@@ -0,0 +1,149 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.client.RequestDeadline;
+import com.yashas.assignment.order.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryFanOutTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testInvokeAll_RunsCallsConcurrentlyInInputOrder() throws Exception {
+        // Arrange - 30 calls of 100ms each
+        InventoryFanOut fanOut = new InventoryFanOut(executor, true, 30, Duration.ofSeconds(5));
+        List<Callable<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            int value = i;
+            calls.add(() -> {
+                Thread.sleep(100);
+                return value;
+            });
+        }
+
+        // Act
+        long started = System.nanoTime();
+        List<Integer> results = fanOut.invokeAll(calls);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert - Roughly one round trip, not thirty
+        assertEquals(30, results.size());
+        assertEquals(0, results.get(0));
+        assertEquals(29, results.get(29));
+        assertTrue(elapsedMs < 1000, "Took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testInvokeAll_CapsConcurrencyPerOrder() throws Exception {
+        // Arrange
+        InventoryFanOut fanOut = new InventoryFanOut(executor, true, 3, Duration.ofSeconds(5));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            calls.add(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return null;
+            });
+        }
+
+        // Act
+        fanOut.invokeAll(calls);
+
+        // Assert
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    void testInvokeAll_FirstFailureCancelsRemainingCalls() throws Exception {
+        // Arrange - One call fails while another would block for a long time
+        InventoryFanOut fanOut = new InventoryFanOut(executor, true, 4, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        List<Callable<Void>> calls = List.of(
+                () -> {
+                    started.await();
+                    throw new IllegalStateException("Inventory service error");
+                },
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        cancelled.countDown();
+                    }
+                    return null;
+                });
+
+        // Act & Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> fanOut.invokeAll(calls));
+        assertEquals("Inventory service error", e.getMessage());
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testInvokeAll_DeadlineExceeded() {
+        // Arrange
+        InventoryFanOut fanOut = new InventoryFanOut(executor, true, 4, Duration.ofMillis(100));
+        List<Callable<Void>> calls = List.of(
+                () -> null,
+                () -> {
+                    Thread.sleep(5_000);
+                    return null;
+                });
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> fanOut.invokeAll(calls));
+    }
+
+    @Test
+    void testInvokeAll_HonoursShorterRequestDeadline() {
+        // Arrange - The request has 100ms left, the fan-out deadline is 5s
+        InventoryFanOut fanOut = new InventoryFanOut(executor, true, 4, Duration.ofSeconds(5));
+        List<Duration> remainingInCalls = new ArrayList<>();
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            calls.add(() -> {
+                synchronized (remainingInCalls) {
+                    remainingInCalls.add(RequestDeadline.remaining());
+                }
+                Thread.sleep(5000);
+                return null;
+            });
+        }
+
+        // Act
+        long started = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> RequestDeadline.callWithin(
+                RequestDeadline.after(Duration.ofMillis(100)), () -> fanOut.invokeAll(calls)));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert - Calls ran under the request's deadline and the order stopped waiting at it
+        assertTrue(elapsedMs < 1000, "Took " + elapsedMs + " ms");
+        assertEquals(2, remainingInCalls.size());
+        for (Duration remaining : remainingInCalls) {
+            assertTrue(remaining.toMillis() <= 100, "Remaining " + remaining);
+        }
+        assertNull(RequestDeadline.current());
+    }
+}
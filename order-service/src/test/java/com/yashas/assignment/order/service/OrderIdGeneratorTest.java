@@ -0,0 +1,130 @@
+package com.yashas.assignment.order.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+
+    private static final long START = OrderIdGenerator.EPOCH_MILLIS + Duration.ofDays(700).toMillis();
+
+    private final AtomicLong clock = new AtomicLong(START);
+
+    @Test
+    void testNextOrderId_FormatAndTimeOrder() {
+        // Arrange
+        OrderIdGenerator generator = new OrderIdGenerator(7, Duration.ofSeconds(5), clock::get);
+
+        // Act
+        String first = generator.nextOrderId();
+        String sameMillisecond = generator.nextOrderId();
+        clock.addAndGet(1);
+        String later = generator.nextOrderId();
+
+        // Assert - Fixed width, so string order is creation order
+        assertTrue(first.matches("ORD-[0-9A-HJKMNP-TV-Z]{13}"), first);
+        assertTrue(first.compareTo(sameMillisecond) < 0);
+        assertTrue(sameMillisecond.compareTo(later) < 0);
+    }
+
+    @Test
+    void testNextId_UniqueAndIncreasingAcrossThreads() throws Exception {
+        // Arrange
+        OrderIdGenerator generator = new OrderIdGenerator(1, Duration.ofSeconds(5), System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+                return ids;
+            }));
+        }
+
+        // Assert
+        Set<Long> all = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            List<Long> ids = future.get();
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(ids.get(i) > ids.get(i - 1));
+            }
+            all.addAll(ids);
+        }
+        executor.shutdown();
+        assertEquals(160_000, all.size());
+    }
+
+    @Test
+    void testNextId_NodesNeverCollide() {
+        // Arrange - Two nodes issuing in the same milliseconds
+        OrderIdGenerator node1 = new OrderIdGenerator(1, Duration.ofSeconds(5), clock::get);
+        OrderIdGenerator node2 = new OrderIdGenerator(2, Duration.ofSeconds(5), clock::get);
+        Set<Long> ids = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(node1.nextId());
+            ids.add(node2.nextId());
+        }
+
+        // Assert
+        assertEquals(20_000, ids.size());
+    }
+
+    @Test
+    void testNextId_SequenceOverflowBorrowsNextMillisecond() {
+        // Arrange - The clock stands still for more ids than one millisecond holds
+        OrderIdGenerator generator = new OrderIdGenerator(0, Duration.ofSeconds(5), clock::get);
+
+        // Act
+        long previous = generator.nextId();
+        for (int i = 1; i < 5000; i++) {
+            long id = generator.nextId();
+
+            // Assert
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(START - OrderIdGenerator.EPOCH_MILLIS + 1, previous >>> 22);
+    }
+
+    @Test
+    void testNextId_ClockStepBack() {
+        // Arrange
+        OrderIdGenerator generator = new OrderIdGenerator(0, Duration.ofSeconds(5), clock::get);
+        long beforeStep = generator.nextId();
+
+        // Act - A small step back keeps ids increasing
+        clock.addAndGet(-100);
+        long afterStep = generator.nextId();
+
+        // Assert
+        assertTrue(afterStep > beforeStep);
+
+        // Act & Assert - A step back beyond the allowed skew stops generation
+        clock.addAndGet(-10_000);
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void testConstructor_RejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderIdGenerator(OrderIdGenerator.MAX_NODE_ID + 1, Duration.ofSeconds(5), clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderIdGenerator(-1, Duration.ofSeconds(5), clock::get));
+    }
+}
@@ -0,0 +1,118 @@
+package com.yashas.assignment.order.service;
+
+import com.yashas.assignment.order.dto.OrderCreateDto;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.exception.OrderBacklogFullException;
+import com.yashas.assignment.order.metrics.OrderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPipelineTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void testAccept_RejectsWhenBacklogIsFull() throws Exception {
+        // Arrange - One worker, one queue slot, and a worker that blocks until released
+        pipeline = new OrderPipeline(orderService, new OrderMetrics(meterRegistry, Duration.ofSeconds(1)),
+                meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(1), false);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch processed = new CountDownLatch(2);
+        when(orderService.acceptOrder(any(OrderCreateDto.class))).thenReturn(
+                OrderResponseDto.builder().orderId("ORD-1").status(OrderStatus.PENDING).build());
+        when(orderService.claimPendingOrder(anyString(), any(Duration.class))).thenReturn(true);
+        when(orderService.processAcceptedOrder(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            processed.countDown();
+            return OrderStatus.CONFIRMED;
+        });
+        OrderCreateDto request = OrderCreateDto.builder().customerId("CUST-001").build();
+
+        // Act - Two orders fill the worker and the queue, the third is refused before it is persisted
+        pipeline.accept(request);
+        pipeline.accept(request);
+        assertThrows(OrderBacklogFullException.class, () -> pipeline.accept(request));
+        release.countDown();
+
+        // Assert
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        verify(orderService, times(2)).acceptOrder(request);
+        assertEquals(1.0, meterRegistry.counter("order.place.failures",
+                "reason", OrderMetrics.FAILURE_BACKLOG_FULL).count());
+    }
+
+    @Test
+    void testAccept_FailedAcceptReleasesCapacity() {
+        // Arrange
+        pipeline = new OrderPipeline(orderService, new OrderMetrics(meterRegistry, Duration.ofSeconds(1)),
+                meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(1), false);
+        when(orderService.acceptOrder(any(OrderCreateDto.class)))
+                .thenThrow(new IllegalArgumentException("Order must contain at least one item"));
+        OrderCreateDto request = OrderCreateDto.builder().customerId("CUST-001").build();
+
+        // Act & Assert - Rejected requests never count against the backlog of two
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class, () -> pipeline.accept(request));
+        }
+        verify(orderService, never()).processAcceptedOrder(anyString());
+    }
+
+    @Test
+    void testProcess_SkipsOrderClaimedByAnotherWorker() {
+        // Arrange
+        pipeline = new OrderPipeline(orderService, new OrderMetrics(meterRegistry, Duration.ofSeconds(1)),
+                meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(1), false);
+        when(orderService.acceptOrder(any(OrderCreateDto.class))).thenReturn(
+                OrderResponseDto.builder().orderId("ORD-1").status(OrderStatus.PENDING).build());
+        when(orderService.claimPendingOrder("ORD-1", Duration.ofMinutes(1))).thenReturn(false);
+
+        // Act
+        pipeline.accept(OrderCreateDto.builder().customerId("CUST-001").build());
+
+        // Assert
+        verify(orderService, timeout(5000)).claimPendingOrder("ORD-1", Duration.ofMinutes(1));
+        verify(orderService, never()).processAcceptedOrder(anyString());
+    }
+
+    @Test
+    void testRetryStalePendingOrders_QueuesAsManyAsCapacityAllows() {
+        // Arrange - One worker and one queue slot free
+        pipeline = new OrderPipeline(orderService, new OrderMetrics(meterRegistry, Duration.ofSeconds(1)),
+                meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(1), false);
+        when(orderService.findStalePendingOrderIds(Duration.ofMinutes(1), 2)).thenReturn(List.of("ORD-1", "ORD-2"));
+        when(orderService.claimPendingOrder(anyString(), any(Duration.class))).thenReturn(true);
+        when(orderService.processAcceptedOrder(anyString())).thenReturn(OrderStatus.CONFIRMED);
+
+        // Act
+        pipeline.retryStalePendingOrders();
+
+        // Assert
+        verify(orderService, timeout(5000)).processAcceptedOrder("ORD-1");
+        verify(orderService, timeout(5000)).processAcceptedOrder("ORD-2");
+    }
+}
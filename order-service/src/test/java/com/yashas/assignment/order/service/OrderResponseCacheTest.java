@@ -0,0 +1,102 @@
+package com.yashas.assignment.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.entity.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testPutIfFinal_CachesSerializedBody() throws Exception {
+        // Arrange
+        OrderResponseCache cache = new OrderResponseCache(objectMapper, meterRegistry, DataSize.ofKilobytes(64));
+        OrderResponseDto order = order("ORD-1", OrderStatus.CONFIRMED);
+
+        // Act
+        byte[] before = cache.get("ORD-1");
+        cache.putIfFinal(order);
+        byte[] after = cache.get("ORD-1");
+
+        // Assert
+        assertNull(before);
+        assertArrayEquals(objectMapper.writeValueAsBytes(order), after);
+        assertEquals(1.0, meterRegistry.get("order.response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("order.response.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(after.length, meterRegistry.get("order.response.cache.bytes").gauge().value());
+    }
+
+    @Test
+    void testPutIfFinal_IgnoresPendingOrders() {
+        // Arrange
+        OrderResponseCache cache = new OrderResponseCache(objectMapper, meterRegistry, DataSize.ofKilobytes(64));
+
+        // Act
+        cache.putIfFinal(order("ORD-1", OrderStatus.PENDING));
+        cache.putIfFinal(order("ORD-2", OrderStatus.FAILED));
+
+        // Assert
+        assertNull(cache.get("ORD-1"));
+        assertNotNull(cache.get("ORD-2"));
+    }
+
+    @Test
+    void testPutIfFinal_EvictsUnreadEntriesFirst() throws Exception {
+        // Arrange - Room for three bodies of the same size
+        int bodySize = objectMapper.writeValueAsBytes(order("ORD-1", OrderStatus.CONFIRMED)).length;
+        OrderResponseCache cache = new OrderResponseCache(objectMapper, meterRegistry, DataSize.ofBytes(3L * bodySize));
+        cache.putIfFinal(order("ORD-1", OrderStatus.CONFIRMED));
+        cache.putIfFinal(order("ORD-2", OrderStatus.CONFIRMED));
+        cache.putIfFinal(order("ORD-3", OrderStatus.CONFIRMED));
+        cache.get("ORD-1");
+
+        // Act - The oldest entry was read again, so the next oldest makes room
+        cache.putIfFinal(order("ORD-4", OrderStatus.CONFIRMED));
+
+        // Assert
+        assertNotNull(cache.get("ORD-1"));
+        assertNull(cache.get("ORD-2"));
+        assertNotNull(cache.get("ORD-3"));
+        assertNotNull(cache.get("ORD-4"));
+        assertEquals(1.0, meterRegistry.get("order.response.cache.evictions").counter().count());
+        assertEquals(3.0, meterRegistry.get("order.response.cache.size").gauge().value());
+        assertTrue(meterRegistry.get("order.response.cache.bytes").gauge().value() <= 3.0 * bodySize);
+    }
+
+    @Test
+    void testPutIfFinal_DisabledWithZeroSize() {
+        // Arrange
+        OrderResponseCache cache = new OrderResponseCache(objectMapper, meterRegistry, DataSize.ofBytes(0));
+
+        // Act
+        cache.putIfFinal(order("ORD-1", OrderStatus.CONFIRMED));
+
+        // Assert
+        assertNull(cache.get("ORD-1"));
+    }
+
+    private static OrderResponseDto order(String orderId, OrderStatus status) {
+        return OrderResponseDto.builder()
+                .id(1L)
+                .orderId(orderId)
+                .customerId("CUST-001")
+                .status(status)
+                .orderItems(new ArrayList<>())
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+    }
+}
@@ -3,25 +3,43 @@ package com.yashas.assignment.order.service;
 import com.yashas.assignment.order.client.InventoryServiceClient;
 import com.yashas.assignment.order.dto.OrderCreateDto;
 import com.yashas.assignment.order.dto.OrderItemCreateDto;
+import com.yashas.assignment.order.dto.OrderPageDto;
 import com.yashas.assignment.order.dto.OrderResponseDto;
+import com.yashas.assignment.order.dto.OrderStatusEventDto;
 import com.yashas.assignment.order.entity.Order;
+import com.yashas.assignment.order.entity.OrderItem;
 import com.yashas.assignment.order.entity.OrderStatus;
+import com.yashas.assignment.order.entity.OrderStatusEvent;
+import com.yashas.assignment.order.exception.InventoryUnavailableException;
+import com.yashas.assignment.order.metrics.OrderMetrics;
+import com.yashas.assignment.order.repository.OrderItemRepository;
 import com.yashas.assignment.order.repository.OrderRepository;
+import com.yashas.assignment.order.repository.OrderStatusEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +48,36 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderStatusEventRepository orderStatusEventRepository;
+
+    @Mock
+    private OrderStatusLog orderStatusLog;
+
     @Mock
     private InventoryServiceClient inventoryServiceClient;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry, Duration.ofSeconds(1));
+
+    @Mock
+    private OrderSaga orderSaga;
+
+    @Spy
+    private InventoryFanOut inventoryFanOut = new InventoryFanOut(
+            Executors.newCachedThreadPool(), true, 4, Duration.ofSeconds(5));
+
+    @Spy
+    private OrderIdGenerator orderIdGenerator = new OrderIdGenerator(0, Duration.ofSeconds(5));
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -64,8 +109,10 @@ class OrderServiceTest {
     @Test
     void testPlaceOrder_Success() {
         // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
         when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(order);
+        when(orderStatusLog.transition(order, OrderStatus.PENDING, OrderStatus.CONFIRMED, null)).thenReturn(updatedAt);
 
         // Act
         OrderResponseDto result = orderService.placeOrder(orderCreateDto);
@@ -74,9 +121,14 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals("CUST-001", result.getCustomerId());
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
+        assertEquals(updatedAt, result.getUpdatedAt());
         verify(inventoryServiceClient, times(1)).checkInventoryAvailability("WHEAT-001");
-        verify(inventoryServiceClient, times(1)).updateInventory(anyString(), anyLong());
-        verify(orderRepository, times(2)).save(any(Order.class));
+        verify(inventoryServiceClient, times(1)).updateInventory(anyString(), anyLong(), anyString());
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        assertEquals(1, meterRegistry.get("order.place.phase").tag("phase", OrderMetrics.PHASE_INVENTORY_UPDATE)
+                .timer().count());
+        assertEquals(2.0, meterRegistry.get("order.inventory.round.trips").summary().totalAmount());
     }
 
     @Test
@@ -104,16 +156,48 @@ class OrderServiceTest {
             orderService.placeOrder(orderCreateDto);
         });
         verify(inventoryServiceClient, times(1)).checkInventoryAvailability("WHEAT-001");
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+    }
+
+    @Test
+    void testPlaceOrder_InventoryUnavailable() {
+        // Arrange - The Inventory Service circuit breaker is open
+        when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001"))
+                .thenThrow(new InventoryUnavailableException("Inventory Service circuit breaker is open", null));
+
+        // Act & Assert
+        assertThrows(InventoryUnavailableException.class, () -> orderService.placeOrder(orderCreateDto));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        assertEquals(1.0, meterRegistry.get("order.place.failures")
+                .tag("reason", OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE).counter().count());
+    }
+
+    @Test
+    void testPlaceOrder_InventoryUnavailableDuringDeduction() {
+        // Arrange - The circuit opens between the availability check and the deduction
+        when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(order);
+        doThrow(new InventoryUnavailableException("Inventory Service circuit breaker is open", null))
+                .when(inventoryServiceClient).updateInventory(anyString(), anyLong(), anyString());
+
+        // Act & Assert - Compensated, then the committed order failed as unavailable rather than as a failed update
+        assertThrows(InventoryUnavailableException.class, () -> orderService.placeOrder(orderCreateDto));
+        verify(orderSaga, times(1)).compensate(anyString());
+        verify(orderStatusLog, times(1)).transition(order, OrderStatus.PENDING, OrderStatus.FAILED,
+                OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE);
+        assertEquals(1.0, meterRegistry.get("order.place.failures")
+                .tag("reason", OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE).counter().count());
+        assertEquals(0.0, meterRegistry.counter("order.place.failures",
+                "reason", OrderMetrics.FAILURE_INVENTORY_UPDATE).count());
     }
 
     @Test
     void testPlaceOrder_InventoryUpdateFails() {
         // Arrange
         when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(order);
         doThrow(new RuntimeException("Inventory service error"))
-                .when(inventoryServiceClient).updateInventory(anyString(), anyLong());
+                .when(inventoryServiceClient).updateInventory(anyString(), anyLong(), anyString());
 
         // Act
         OrderResponseDto result = orderService.placeOrder(orderCreateDto);
@@ -121,9 +205,99 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(OrderStatus.FAILED, result.getStatus());
+        assertEquals(1.0, meterRegistry.counter("order.place.failures",
+                "reason", OrderMetrics.FAILURE_INVENTORY_UPDATE).count());
         verify(inventoryServiceClient, times(1)).checkInventoryAvailability("WHEAT-001");
-        verify(inventoryServiceClient, times(1)).updateInventory(anyString(), anyLong());
-        verify(orderRepository, times(2)).save(any(Order.class));
+        verify(inventoryServiceClient, times(1)).updateInventory(anyString(), anyLong(), anyString());
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
+        verify(orderStatusLog, times(1)).created(order);
+        verify(orderSaga, times(1)).record(anyString(), anyList());
+        verify(orderStatusLog, times(1)).transition(order, OrderStatus.PENDING, OrderStatus.FAILED,
+                OrderMetrics.FAILURE_INVENTORY_UPDATE);
+    }
+
+    @Test
+    void testProcessAcceptedOrder_Confirms() {
+        // Arrange
+        order.setStatus(OrderStatus.PENDING);
+        OrderItem item = OrderItem.builder().id(10L).order(order).productId("WHEAT-001").quantity(100L).build();
+        when(orderRepository.findByOrderId("ORD-12345")).thenReturn(Optional.of(order));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(item));
+        when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
+
+        // Act
+        OrderStatus status = orderService.processAcceptedOrder("ORD-12345");
+
+        // Assert
+        assertEquals(OrderStatus.CONFIRMED, status);
+        verify(inventoryServiceClient, times(1)).updateInventory("WHEAT-001", 100L, "ORD-12345-0");
+        verify(orderStatusLog, times(1)).transition(order, OrderStatus.PENDING, OrderStatus.CONFIRMED, null);
+        verify(orderSaga, times(1)).begin(eq("ORD-12345"), anyList());
+        verify(orderSaga, times(1)).complete("ORD-12345");
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testProcessAcceptedOrder_InventoryUnavailableStaysPending() {
+        // Arrange - The circuit opens while the accepted order's deduction is sent
+        order.setStatus(OrderStatus.PENDING);
+        OrderItem item = OrderItem.builder().id(10L).order(order).productId("WHEAT-001").quantity(100L).build();
+        when(orderRepository.findByOrderId("ORD-12345")).thenReturn(Optional.of(order));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(item));
+        when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
+        doThrow(new InventoryUnavailableException("Inventory Service circuit breaker is open", null))
+                .when(inventoryServiceClient).updateInventory(anyString(), anyLong(), anyString());
+
+        // Act
+        OrderStatus status = orderService.processAcceptedOrder("ORD-12345");
+
+        // Assert - Neither compensated nor failed, so the retry can reuse its references
+        assertEquals(OrderStatus.PENDING, status);
+        verify(orderSaga, never()).compensate(anyString());
+        verify(orderStatusLog, never()).transition(any(), any(), any(), any());
+        assertEquals(0.0, meterRegistry.counter("order.place.failures",
+                "reason", OrderMetrics.FAILURE_INVENTORY_UNAVAILABLE).count());
+    }
+
+    @Test
+    void testProcessAcceptedOrder_AlreadyCompleted() {
+        // Arrange - Order was confirmed by an earlier attempt
+        when(orderRepository.findByOrderId("ORD-12345")).thenReturn(Optional.of(order));
+
+        // Act
+        OrderStatus status = orderService.processAcceptedOrder("ORD-12345");
+
+        // Assert
+        assertEquals(OrderStatus.CONFIRMED, status);
+        verifyNoInteractions(inventoryServiceClient);
+        verify(orderStatusLog, never()).transition(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetStatusHistory_Success() {
+        // Arrange
+        LocalDateTime created = LocalDateTime.now();
+        when(orderStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc("ORD-12345")).thenReturn(List.of(
+                OrderStatusEvent.builder().id(1L).orderId("ORD-12345").status(OrderStatus.PENDING)
+                        .occurredAt(created).build(),
+                OrderStatusEvent.builder().id(2L).orderId("ORD-12345").status(OrderStatus.FAILED)
+                        .occurredAt(created.plusSeconds(1)).reason(OrderMetrics.FAILURE_INVENTORY_UPDATE).build()));
+
+        // Act
+        List<OrderStatusEventDto> history = orderService.getStatusHistory("ORD-12345");
+
+        // Assert
+        assertEquals(2, history.size());
+        assertEquals(OrderStatus.PENDING, history.get(0).getStatus());
+        assertNull(history.get(0).getReason());
+        assertEquals(OrderStatus.FAILED, history.get(1).getStatus());
+        assertEquals(OrderMetrics.FAILURE_INVENTORY_UPDATE, history.get(1).getReason());
+    }
+
+    @Test
+    void testGetStatusHistory_NotFound() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.getStatusHistory("NONEXISTENT"));
     }
 
     @Test
@@ -155,30 +329,73 @@ class OrderServiceTest {
     @Test
     void testGetOrdersByCustomerId_Success() {
         // Arrange
-        List<Order> orders = Arrays.asList(order);
-        when(orderRepository.findByCustomerId("CUST-001")).thenReturn(orders);
+        OrderItem item = OrderItem.builder()
+                .id(10L)
+                .order(order)
+                .productId("WHEAT-001")
+                .quantity(100L)
+                .build();
+        when(orderRepository.findHistoryPage(eq("CUST-001"), any(Pageable.class))).thenReturn(List.of(order));
+        when(orderItemRepository.findByOrderIdIn(List.of(1L))).thenReturn(List.of(item));
 
         // Act
-        List<OrderResponseDto> result = orderService.getOrdersByCustomerId("CUST-001");
+        OrderPageDto result = orderService.getOrdersByCustomerId("CUST-001", null, 50);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("CUST-001", result.get(0).getCustomerId());
-        verify(orderRepository, times(1)).findByCustomerId("CUST-001");
+        assertEquals(1, result.getOrders().size());
+        assertEquals("CUST-001", result.getOrders().get(0).getCustomerId());
+        assertEquals(1, result.getOrders().get(0).getOrderItems().size());
+        assertNull(result.getNextCursor());
+        verify(orderItemRepository, times(1)).findByOrderIdIn(List.of(1L));
     }
 
     @Test
     void testGetOrdersByCustomerId_Empty() {
         // Arrange
-        when(orderRepository.findByCustomerId("UNKNOWN")).thenReturn(new ArrayList<>());
+        when(orderRepository.findHistoryPage(eq("UNKNOWN"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
-        List<OrderResponseDto> result = orderService.getOrdersByCustomerId("UNKNOWN");
+        OrderPageDto result = orderService.getOrdersByCustomerId("UNKNOWN", null, 50);
 
         // Assert
         assertNotNull(result);
-        assertEquals(0, result.size());
+        assertEquals(0, result.getOrders().size());
+        verify(orderItemRepository, never()).findByOrderIdIn(anyList());
+    }
+
+    @Test
+    void testGetOrdersByCustomerId_NextPageUsesCursor() {
+        // Arrange - Two orders on the first page of size 1 means there is a next page
+        Order older = Order.builder()
+                .id(2L)
+                .orderId("ORD-OLDER")
+                .customerId("CUST-001")
+                .status(OrderStatus.CONFIRMED)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .build();
+        order.setCreatedAt(LocalDateTime.now());
+        when(orderRepository.findHistoryPage(eq("CUST-001"), any(Pageable.class))).thenReturn(List.of(order, older));
+        when(orderRepository.findHistoryPageBefore(eq("CUST-001"), eq(order.getCreatedAt()), eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(older));
+
+        // Act
+        OrderPageDto first = orderService.getOrdersByCustomerId("CUST-001", null, 1);
+        OrderPageDto second = orderService.getOrdersByCustomerId("CUST-001", first.getNextCursor(), 1);
+
+        // Assert
+        assertEquals("ORD-12345", first.getOrders().get(0).getOrderId());
+        assertNotNull(first.getNextCursor());
+        assertEquals("ORD-OLDER", second.getOrders().get(0).getOrderId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetOrdersByCustomerId_InvalidCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.getOrdersByCustomerId("CUST-001", "not-a-cursor", 50);
+        });
     }
 
     @Test
@@ -201,7 +418,7 @@ class OrderServiceTest {
 
         when(inventoryServiceClient.checkInventoryAvailability("WHEAT-001")).thenReturn(true);
         when(inventoryServiceClient.checkInventoryAvailability("RICE-001")).thenReturn(true);
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(order);
 
         // Act
         OrderResponseDto result = orderService.placeOrder(multiItemOrder);
@@ -210,6 +427,6 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         verify(inventoryServiceClient, times(2)).checkInventoryAvailability(anyString());
-        verify(inventoryServiceClient, times(2)).updateInventory(anyString(), anyLong());
+        verify(inventoryServiceClient, times(2)).updateInventory(anyString(), anyLong(), anyString());
     }
 }
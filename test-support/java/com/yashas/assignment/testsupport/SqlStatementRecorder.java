@@ -0,0 +1,61 @@
+package com.yashas.assignment.testsupport;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Hibernate StatementInspector that records every SQL statement prepared while recording is on.
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector,
+ * so Hibernate instantiates it and the recorded statements are kept statically.
+ * Statements from every thread are recorded, so the test profile delays the scheduled jobs past the test run.
+ * Shared by the Order and Inventory Service tests, which add this directory as a test source root.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql.replaceAll("\\s+", " ").trim());
+            }
+        }
+        return sql;
+    }
+
+    public static void start() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        recording = false;
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+
+    /**
+     * Fail with the full statement list when more than maxStatements were recorded.
+     */
+    public static void assertWithinBudget(String endpoint, int maxStatements, List<String> statements) {
+        if (statements.size() <= maxStatements) {
+            return;
+        }
+        StringBuilder report = new StringBuilder()
+                .append(endpoint).append(" executed ").append(statements.size())
+                .append(" SQL statements, budget is ").append(maxStatements).append(':');
+        for (int i = 0; i < statements.size(); i++) {
+            report.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        fail(report.toString());
+    }
+}